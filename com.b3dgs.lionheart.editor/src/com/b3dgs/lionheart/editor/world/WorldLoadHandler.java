@@ -37,6 +37,7 @@ import com.b3dgs.lionengine.game.feature.tile.map.collision.MapTileCollision;
 import com.b3dgs.lionengine.game.feature.tile.map.persister.MapTilePersister;
 import com.b3dgs.lionengine.io.FileReading;
 import com.b3dgs.lionheart.EntityConfig;
+import com.b3dgs.lionheart.EntityDefinition;
 import com.b3dgs.lionheart.StageConfig;
 import com.b3dgs.lionheart.constant.Folder;
 import com.b3dgs.lionheart.editor.Util;
@@ -59,6 +60,8 @@ public final class WorldLoadHandler
     {
         final MapTilePersister mapPersister = WorldModel.INSTANCE.getMap().getFeature(MapTilePersister.class);
 
+        // Entities may have been edited since last load
+        EntityDefinition.clear();
         final StageConfig stage = StageConfig.imports(new Configurer(media));
         WorldModel.INSTANCE.getMap()
                            .loadSheets(Medias.create(stage.getMapFile().getParentPath(), TileSheetsConfig.FILENAME));
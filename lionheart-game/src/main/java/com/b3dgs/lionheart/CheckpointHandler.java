@@ -17,15 +17,16 @@
 package com.b3dgs.lionheart;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.b3dgs.lionengine.Listenable;
 import com.b3dgs.lionengine.ListenableModel;
 import com.b3dgs.lionengine.Updatable;
 import com.b3dgs.lionengine.UpdatableVoid;
-import com.b3dgs.lionengine.UtilMath;
 import com.b3dgs.lionengine.game.feature.Featurable;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Transformable;
@@ -34,11 +35,20 @@ import com.b3dgs.lionengine.geom.Coord;
 
 /**
  * Handle checkpoints.
+ * <p>
+ * Checkpoints are kept in configuration order, which is the stage progression order, even when stage goes left. An
+ * index sorted by horizontal tile is followed by a cursor along player, so only checkpoints around player are tested
+ * each update, with squared integer distances on locations in {@link #PRECISION} units of tile.
+ * </p>
  */
 public class CheckpointHandler implements Updatable, Listenable<CheckpointListener>
 {
+    /** Checkpoint location units per tile, as checkpoints may be defined by quarter of tile. */
+    private static final int PRECISION = 4;
     private static final int CHECKPOINT_DISTANCE_TILE = 4;
+    private static final int CHECKPOINT_DISTANCE = CHECKPOINT_DISTANCE_TILE * PRECISION;
     private static final int END_DISTANCE_TILE = 2;
+    private static final int END_DISTANCE = END_DISTANCE_TILE * PRECISION;
     private static final int BOSS_DISTANCE = 128;
 
     /**
@@ -57,15 +67,86 @@ public class CheckpointHandler implements Updatable, Listenable<CheckpointListen
         return false;
     }
 
+    /**
+     * Convert tile location to precision units.
+     * 
+     * @param tile The tile location.
+     * @return The location in precision units.
+     */
+    private static int toUnit(double tile)
+    {
+        return (int) Math.round(tile * PRECISION);
+    }
+
+    /**
+     * Get checkpoints indexes sorted by horizontal location.
+     * 
+     * @param checkpoints The checkpoints in configuration order.
+     * @return The indexes sorted by horizontal location, configuration order kept on same location.
+     */
+    private static int[] sortByTx(List<Checkpoint> checkpoints)
+    {
+        return IntStream.range(0, checkpoints.size())
+                        .boxed()
+                        .sorted(Comparator.comparingDouble(i -> checkpoints.get(i.intValue()).getTx()))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+    }
+
+    /**
+     * Get first index with horizontal location not less than location, starting from cursor.
+     * 
+     * @param xs The sorted horizontal locations.
+     * @param count The locations number.
+     * @param cursor The current cursor.
+     * @param x The horizontal location.
+     * @return The first index with location not less, <code>count</code> if none.
+     */
+    private static int seek(int[] xs, int count, int cursor, int x)
+    {
+        int i = cursor;
+        while (i > 0 && xs[i - 1] >= x)
+        {
+            i--;
+        }
+        while (i < count && xs[i] < x)
+        {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Check if location is in range of point.
+     * 
+     * @param dx The horizontal distance.
+     * @param dy The vertical distance.
+     * @param range The range.
+     * @return <code>true</code> if in range, <code>false</code> else.
+     */
+    private static boolean isInRange(int dx, int dy, int range)
+    {
+        return dx * dx + dy * dy < range * range;
+    }
+
     private final List<Checkpoint> checkpoints = new ArrayList<>();
     private final List<Checkpoint> nexts = new ArrayList<>();
     private final ListenableModel<CheckpointListener> listenable = new ListenableModel<>();
     private final MapTile map;
+    private int[] sorted = new int[0];
+    private int[] checkpointsX = new int[0];
+    private int[] checkpointsY = new int[0];
+    private int[] nextsX = new int[0];
+    private int[] nextsY = new int[0];
     private int nextsCount;
     private Updatable checkerBoss;
     private Transformable player;
     private int last;
     private int count;
+    private int cursor;
+    private int cursorNext;
+    private int tx;
+    private int ty;
     private Optional<Coord> boss;
     private boolean bossFound;
 
@@ -92,6 +173,8 @@ public class CheckpointHandler implements Updatable, Listenable<CheckpointListen
     {
         this.player = player.getFeature(Transformable.class);
         last = 0;
+        cursor = 0;
+        cursorNext = 0;
         checkpoints.clear();
 
         spawn.ifPresent(s -> checkpoints.add(new Checkpoint(s.getX(), s.getY(), Optional.empty(), Optional.empty())));
@@ -108,10 +191,26 @@ public class CheckpointHandler implements Updatable, Listenable<CheckpointListen
             }
         }
         count = checkpoints.size();
+        sorted = sortByTx(checkpoints);
+        checkpointsX = new int[count];
+        checkpointsY = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            checkpointsX[i] = toUnit(checkpoints.get(sorted[i]).getTx());
+            checkpointsY[i] = toUnit(checkpoints.get(sorted[i]).getTy());
+        }
 
         nexts.clear();
         nexts.addAll(checkpoints.stream().filter(c -> c.getNext().isPresent()).collect(Collectors.toList()));
+        nexts.sort(Comparator.comparingDouble(Checkpoint::getTx));
         nextsCount = nexts.size();
+        nextsX = new int[nextsCount];
+        nextsY = new int[nextsCount];
+        for (int i = 0; i < nextsCount; i++)
+        {
+            nextsX[i] = toUnit(nexts.get(i).getTx());
+            nextsY[i] = toUnit(nexts.get(i).getTy());
+        }
 
         checkerBoss = config.getBoss()
                             .map(b -> UpdatableVoid.wrap(extrp -> updateBoss(toReal(b),
@@ -139,18 +238,16 @@ public class CheckpointHandler implements Updatable, Listenable<CheckpointListen
     }
 
     /**
-     * Check next stage reached.
+     * Check next stage reached, only for next checkpoints around player.
      */
     private void updateNext()
     {
-        for (int i = 0; i < nextsCount; i++)
+        cursorNext = seek(nextsX, nextsCount, cursorNext, tx - END_DISTANCE + 1);
+        for (int i = cursorNext; i < nextsCount && nextsX[i] < tx + END_DISTANCE; i++)
         {
-            final Checkpoint checkpoint = nexts.get(i);
-            if (UtilMath.getDistance(map.getInTileX(player),
-                                     map.getInTileY(player),
-                                     checkpoint.getTx(),
-                                     checkpoint.getTy()) < END_DISTANCE_TILE)
+            if (isInRange(tx - nextsX[i], ty - nextsY[i], END_DISTANCE))
             {
+                final Checkpoint checkpoint = nexts.get(i);
                 final Optional<String> nextStage = checkpoint.getNext();
                 if (nextStage.isPresent())
                 {
@@ -165,14 +262,33 @@ public class CheckpointHandler implements Updatable, Listenable<CheckpointListen
     }
 
     /**
-     * Check boss reached.
+     * Check checkpoint reached, only for checkpoints before player in range. Reached checkpoint is the furthest one in
+     * configuration order, after last reached.
+     */
+    private void updateCheckpoint()
+    {
+        cursor = seek(checkpointsX, count, cursor, tx);
+        int reached = last;
+        for (int i = cursor - 1; i >= 0 && checkpointsX[i] > tx - CHECKPOINT_DISTANCE; i--)
+        {
+            if (sorted[i] > reached && isInRange(tx - checkpointsX[i], ty - checkpointsY[i], CHECKPOINT_DISTANCE))
+            {
+                reached = sorted[i];
+            }
+        }
+        last = reached;
+    }
+
+    /**
+     * Check boss reached, horizontal distance first.
      * 
      * @param boss The boss location.
      * @param spawn The boss spawn location.
      */
     private void updateBoss(Coord boss, Coord spawn)
     {
-        if (UtilMath.getDistance(player, boss) < BOSS_DISTANCE)
+        final int dx = (int) (player.getX() - boss.getX());
+        if (Math.abs(dx) < BOSS_DISTANCE && isInRange(dx, (int) (player.getY() - boss.getY()), BOSS_DISTANCE))
         {
             final int n = listenable.size();
             for (int i = 0; i < n; i++)
@@ -213,21 +329,11 @@ public class CheckpointHandler implements Updatable, Listenable<CheckpointListen
     @Override
     public void update(double extrp)
     {
+        tx = map.getInTileX(player) * PRECISION;
+        ty = map.getInTileY(player) * PRECISION;
+
         updateNext();
         checkerBoss.update(extrp);
-
-        final int start = last + 1;
-        for (int i = start; i < count; i++)
-        {
-            final Checkpoint checkpoint = checkpoints.get(i);
-            if (UtilMath.getDistance(map.getInTileX(player),
-                                     map.getInTileY(player),
-                                     checkpoint.getTx(),
-                                     checkpoint.getTy()) < CHECKPOINT_DISTANCE_TILE
-                && map.getInTileX(player) > checkpoint.getTx())
-            {
-                last = i;
-            }
-        }
+        updateCheckpoint();
     }
 }
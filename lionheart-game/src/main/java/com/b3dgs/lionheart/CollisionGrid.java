@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform grid broad phase, partitioned by collision group.
+ * <p>
+ * Elements are identified by a positive index and located by a point. They are moved between cells only when their
+ * cell changes, so static elements cost nothing after insertion. Queries visit elements of a group in cells
+ * overlapping an area: callers then run their narrow phase only on these candidates. Cell size should be close to
+ * elements size (map tile size for stage elements).
+ * </p>
+ * <p>
+ * Cells cover the map area, locations outside are clamped to border cells. Each group has its own cells, storing their
+ * first element, and elements are linked to the next and previous ones of their cell, so moves and queries do not
+ * allocate.
+ * </p>
+ */
+final class CollisionGrid
+{
+    /** Default elements capacity. */
+    private static final int CAPACITY = 64;
+    /** No element or cell. */
+    private static final int NONE = -1;
+
+    /** Cell width. */
+    private final int cellWidth;
+    /** Cell height. */
+    private final int cellHeight;
+    /** Horizontal cells number. */
+    private final int widthInCell;
+    /** Vertical cells number. */
+    private final int heightInCell;
+    /** First element of each cell for each group, <code>null</code> if group not used. */
+    private int[][] heads = new int[0][];
+    /** Elements group. */
+    private int[] group = new int[CAPACITY];
+    /** Elements cell, {@link #NONE} if not in grid. */
+    private int[] cell = new int[CAPACITY];
+    /** Next element in cell. */
+    private int[] next = new int[CAPACITY];
+    /** Previous element in cell. */
+    private int[] previous = new int[CAPACITY];
+
+    /**
+     * Create grid.
+     * 
+     * @param cellWidth The cell width.
+     * @param cellHeight The cell height.
+     * @param width The covered width.
+     * @param height The covered height.
+     */
+    CollisionGrid(int cellWidth, int cellHeight, int width, int height)
+    {
+        super();
+
+        this.cellWidth = Math.max(1, cellWidth);
+        this.cellHeight = Math.max(1, cellHeight);
+        widthInCell = Math.max(1, (width + this.cellWidth - 1) / this.cellWidth);
+        heightInCell = Math.max(1, (height + this.cellHeight - 1) / this.cellHeight);
+        Arrays.fill(cell, NONE);
+    }
+
+    /**
+     * Add element.
+     * 
+     * @param id The element index.
+     * @param group The element group (positive).
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     */
+    void add(int id, int group, double x, double y)
+    {
+        if (id >= cell.length)
+        {
+            final int length = Math.max(id + 1, cell.length * 2);
+            final int old = cell.length;
+            this.group = Arrays.copyOf(this.group, length);
+            cell = Arrays.copyOf(cell, length);
+            next = Arrays.copyOf(next, length);
+            previous = Arrays.copyOf(previous, length);
+            Arrays.fill(cell, old, length, NONE);
+        }
+        if (group >= heads.length)
+        {
+            heads = Arrays.copyOf(heads, group + 1);
+        }
+        if (heads[group] == null)
+        {
+            heads[group] = new int[widthInCell * heightInCell];
+            Arrays.fill(heads[group], NONE);
+        }
+        remove(id);
+        this.group[id] = group;
+        insert(id, getCell(getCellX(x), getCellY(y)));
+    }
+
+    /**
+     * Move element, changes its cell only if needed.
+     * 
+     * @param id The element index.
+     * @param x The new horizontal location.
+     * @param y The new vertical location.
+     */
+    void move(int id, double x, double y)
+    {
+        final int current = getCell(getCellX(x), getCellY(y));
+        if (cell[id] != current)
+        {
+            remove(id);
+            insert(id, current);
+        }
+    }
+
+    /**
+     * Remove element if in grid. Removing visited element while querying is allowed.
+     * 
+     * @param id The element index.
+     */
+    void remove(int id)
+    {
+        if (id < cell.length && cell[id] != NONE)
+        {
+            final int before = previous[id];
+            final int after = next[id];
+            if (before == NONE)
+            {
+                heads[group[id]][cell[id]] = after;
+            }
+            else
+            {
+                next[before] = after;
+            }
+            if (after != NONE)
+            {
+                previous[after] = before;
+            }
+            cell[id] = NONE;
+        }
+    }
+
+    /**
+     * Visit elements of group in cells overlapping area.
+     * 
+     * @param group The group to visit.
+     * @param x1 The area left.
+     * @param y1 The area bottom.
+     * @param x2 The area right.
+     * @param y2 The area top.
+     * @param visitor The elements visitor.
+     */
+    void query(int group, double x1, double y1, double x2, double y2, IntConsumer visitor)
+    {
+        if (group < heads.length && heads[group] != null)
+        {
+            final int[] cells = heads[group];
+            final int minX = getCellX(x1);
+            final int maxX = getCellX(x2);
+            final int minY = getCellY(y1);
+            final int maxY = getCellY(y2);
+            for (int cy = minY; cy <= maxY; cy++)
+            {
+                for (int cx = minX; cx <= maxX; cx++)
+                {
+                    int id = cells[getCell(cx, cy)];
+                    while (id != NONE)
+                    {
+                        final int after = next[id];
+                        visitor.accept(id);
+                        id = after;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert element as first one of cell.
+     * 
+     * @param id The element index.
+     * @param index The cell index.
+     */
+    private void insert(int id, int index)
+    {
+        final int[] cells = heads[group[id]];
+        final int first = cells[index];
+        next[id] = first;
+        previous[id] = NONE;
+        if (first != NONE)
+        {
+            previous[first] = id;
+        }
+        cells[index] = id;
+        cell[id] = index;
+    }
+
+    /**
+     * Get cell index.
+     * 
+     * @param cx The cell horizontal index.
+     * @param cy The cell vertical index.
+     * @return The cell index.
+     */
+    private int getCell(int cx, int cy)
+    {
+        return cy * widthInCell + cx;
+    }
+
+    /**
+     * Get cell horizontal index, clamped to grid.
+     * 
+     * @param x The horizontal location.
+     * @return The cell horizontal index.
+     */
+    private int getCellX(double x)
+    {
+        return Math.max(0, Math.min(widthInCell - 1, (int) Math.floor(x / cellWidth)));
+    }
+
+    /**
+     * Get cell vertical index, clamped to grid.
+     * 
+     * @param y The vertical location.
+     * @return The cell vertical index.
+     */
+    private int getCellY(double y)
+    {
+        return Math.max(0, Math.min(heightInCell - 1, (int) Math.floor(y / cellHeight)));
+    }
+}
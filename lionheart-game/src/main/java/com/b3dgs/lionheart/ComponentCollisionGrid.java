@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.feature.ComponentUpdater;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handlables;
+import com.b3dgs.lionengine.game.feature.HandlerListener;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.TransformableListener;
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.collidable.Collision;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+
+/**
+ * Entities collision component, with a {@link CollisionGrid} broad phase, replacing the engine one when enabled (see
+ * {@link Settings#getEntityGrid()}).
+ * <p>
+ * Collidables are indexed by their group in a grid of a few map tiles per cell. Only transformed collidables are moved
+ * in grid: their {@link TransformableListener} marks them, and marked ones are moved at update start, so grid does
+ * not change while it is queried (collision reactions can move entities). Each enabled collidable then queries the
+ * cells of its accepted groups around it, and only these candidates are tested by
+ * {@link Collidable#collide(Collidable)}, notifying collidable of each collision as engine does. Query area is the
+ * collidable reach added to the largest reach of the queried group, reach being the largest collision extent from
+ * entity location (see {@link EntityDefinition#getCollisionExtent()}), or twice entity size for animated collisions.
+ * </p>
+ * <p>
+ * Groups and accepted groups are read when collidable is added, as entities do not change them.
+ * </p>
+ */
+final class ComponentCollisionGrid implements ComponentUpdater, HandlerListener
+{
+    /** Cell size in map tiles. */
+    private static final int CELL_IN_TILE = 4;
+    /** Default entries capacity. */
+    private static final int CAPACITY = 64;
+    /** Removed entry index. */
+    private static final int REMOVED = -1;
+
+    /**
+     * Get entity reach.
+     * 
+     * @param featurable The entity featurable.
+     * @param transformable The entity transformable.
+     * @return The largest collision extent from entity location.
+     */
+    private static int getReach(Featurable featurable, Transformable transformable)
+    {
+        final int size = 2 * Math.max(transformable.getWidth(), transformable.getHeight());
+        final Media media = featurable.getMedia();
+        if (media == null)
+        {
+            return size;
+        }
+        return Math.max(size, EntityDefinition.get(media).getCollisionExtent());
+    }
+
+    /** Entries by featurable. */
+    private final Map<Featurable, Entry> indexed = new HashMap<>();
+    /** Narrow phase on grid candidates. */
+    private final IntConsumer checker = this::check;
+    /** Largest reach by group. */
+    private int[] reaches = new int[0];
+    /** Entries by grid index. */
+    private Entry[] entries = new Entry[CAPACITY];
+    /** Entries number. */
+    private int count;
+    /** Transformed entries since last update. */
+    private Entry[] moved = new Entry[CAPACITY];
+    /** Transformed entries number. */
+    private int movedCount;
+    /** Collidables grid, one cell until map is loaded. */
+    private CollisionGrid grid = new CollisionGrid(1, 1, 1, 1);
+    /** Current querying entry. */
+    private Entry current;
+
+    /**
+     * Create component.
+     */
+    ComponentCollisionGrid()
+    {
+        super();
+    }
+
+    /**
+     * Cover map with grid, collidables are kept.
+     * 
+     * @param map The map reference.
+     */
+    void load(MapTile map)
+    {
+        grid = new CollisionGrid(map.getTileWidth() * CELL_IN_TILE,
+                                 map.getTileHeight() * CELL_IN_TILE,
+                                 map.getWidth(),
+                                 map.getHeight());
+        for (int i = 0; i < count; i++)
+        {
+            final Entry entry = entries[i];
+            grid.add(i, entry.group, entry.transformable.getX(), entry.transformable.getY());
+        }
+    }
+
+    /**
+     * Mark entry as transformed, moved in grid on next update.
+     * 
+     * @param entry The transformed entry.
+     */
+    private void mark(Entry entry)
+    {
+        if (!entry.moved)
+        {
+            entry.moved = true;
+            if (movedCount == moved.length)
+            {
+                moved = Arrays.copyOf(moved, movedCount * 2);
+            }
+            moved[movedCount] = entry;
+            movedCount++;
+        }
+    }
+
+    /**
+     * Move transformed entries in grid, removed ones are skipped.
+     */
+    private void moveMarked()
+    {
+        for (int i = 0; i < movedCount; i++)
+        {
+            final Entry entry = moved[i];
+            moved[i] = null;
+            entry.moved = false;
+            if (entry.index != REMOVED)
+            {
+                grid.move(entry.index, entry.transformable.getX(), entry.transformable.getY());
+            }
+        }
+        movedCount = 0;
+    }
+
+    /**
+     * Test current entry against candidate, notify current collidable of each collision.
+     * 
+     * @param index The candidate grid index.
+     */
+    private void check(int index)
+    {
+        final Entry other = entries[index];
+        if (other != current && other.collidable.isEnabled())
+        {
+            final List<Collision[]> collisions = current.collidable.collide(other.collidable);
+            final int n = collisions.size();
+            for (int i = 0; i < n; i++)
+            {
+                final Collision[] collision = collisions.get(i);
+                current.collidable.notifyCollided(other.collidable, collision[0], collision[1]);
+            }
+        }
+    }
+
+    @Override
+    public void update(double extrp, Handlables featurables)
+    {
+        moveMarked();
+        for (int i = 0; i < count; i++)
+        {
+            current = entries[i];
+            if (current.collidable.isEnabled())
+            {
+                final double x = current.transformable.getX();
+                final double y = current.transformable.getY();
+                for (final int group : current.accepted)
+                {
+                    if (group < reaches.length)
+                    {
+                        final int reach = current.reach + reaches[group];
+                        grid.query(group, x - reach, y - reach, x + reach, y + reach, checker);
+                    }
+                }
+            }
+        }
+        current = null;
+    }
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        if (featurable.hasFeature(Collidable.class))
+        {
+            final Collidable collidable = featurable.getFeature(Collidable.class);
+            final Transformable transformable = featurable.getFeature(Transformable.class);
+            final Entry entry = new Entry(collidable, transformable, getReach(featurable, transformable));
+            if (entry.group >= reaches.length)
+            {
+                reaches = Arrays.copyOf(reaches, entry.group + 1);
+            }
+            reaches[entry.group] = Math.max(reaches[entry.group], entry.reach);
+            if (count == entries.length)
+            {
+                entries = Arrays.copyOf(entries, count * 2);
+            }
+            entry.index = count;
+            entries[count] = entry;
+            indexed.put(featurable, entry);
+            grid.add(count, entry.group, transformable.getX(), transformable.getY());
+            count++;
+            transformable.addListener(entry.listener);
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        final Entry entry = indexed.remove(featurable);
+        if (entry != null)
+        {
+            entry.transformable.removeListener(entry.listener);
+            count--;
+            grid.remove(entry.index);
+            final Entry last = entries[count];
+            entries[count] = null;
+            if (last != entry)
+            {
+                grid.remove(last.index);
+                last.index = entry.index;
+                entries[entry.index] = last;
+                grid.add(last.index, last.group, last.transformable.getX(), last.transformable.getY());
+            }
+            entry.index = REMOVED;
+        }
+    }
+
+    /**
+     * Indexed collidable.
+     */
+    private final class Entry
+    {
+        /** Collidable reference. */
+        private final Collidable collidable;
+        /** Transformable reference. */
+        private final Transformable transformable;
+        /** Collision group. */
+        private final int group;
+        /** Accepted groups. */
+        private final int[] accepted;
+        /** Largest collision extent from location. */
+        private final int reach;
+        /** Transformed listener. */
+        private final TransformableListener listener = transformed -> mark(this);
+        /** Grid index, {@link #REMOVED} once removed. */
+        private int index;
+        /** Transformed since last update flag. */
+        private boolean moved;
+
+        /**
+         * Create entry.
+         * 
+         * @param collidable The collidable reference.
+         * @param transformable The transformable reference.
+         * @param reach The largest collision extent from location.
+         */
+        Entry(Collidable collidable, Transformable transformable, int reach)
+        {
+            super();
+
+            this.collidable = collidable;
+            this.transformable = transformable;
+            this.reach = reach;
+            group = collidable.getGroup().intValue();
+
+            final Collection<Integer> groups = collidable.getAccepted();
+            accepted = new int[groups.size()];
+            int i = 0;
+            for (final Integer value : groups)
+            {
+                accepted[i] = value.intValue();
+                i++;
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.Viewer;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Identifiable;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionheart.object.EntityModel;
+
+/**
+ * Stage entities activation by horizontal sectors.
+ * <p>
+ * Entities are bucketed by sector of their location. Sectors intersecting camera extended by a margin are active, and
+ * entity activity is flipped only when camera crosses a sector boundary, or when entity moves to another sector. Only
+ * entities of active sectors are then checked against camera view by {@link EntityModel}, so cost per frame depends
+ * on entities near camera instead of all entities. Margin covers widest entity, so no viewable entity is inactive.
+ * </p>
+ */
+public final class EntityActivation
+{
+    /** Sectors entries. */
+    private final List<List<Entry>> sectors;
+    /** Camera reference. */
+    private final Viewer camera;
+    /** Sector width in pixel. */
+    private final int width;
+    /** Active margin in pixel. */
+    private int margin;
+    /** First active sector. */
+    private int left;
+    /** Last active sector (less than first if none). */
+    private int right = -1;
+
+    /**
+     * Create activation.
+     * 
+     * @param map The map reference.
+     * @param camera The camera reference.
+     * @param sector The sector width in tile.
+     */
+    EntityActivation(MapTile map, Viewer camera, int sector)
+    {
+        super();
+
+        this.camera = camera;
+        width = Math.max(1, sector * map.getTileWidth());
+        margin = width;
+
+        final int n = Math.max(1, (int) Math.ceil(map.getWidth() / (double) width));
+        sectors = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+        {
+            sectors.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Add entity, removed on destroy.
+     * 
+     * @param featurable The entity to add.
+     */
+    void add(Featurable featurable)
+    {
+        final Transformable transformable = featurable.getFeature(Transformable.class);
+        margin = Math.max(margin, transformable.getWidth() * 2);
+
+        final Entry entry = new Entry(getSector(transformable.getX()));
+        sectors.get(entry.sector).add(entry);
+        entry.active = isInRange(entry.sector);
+        featurable.getFeature(EntityModel.class).setActivation(entry);
+        featurable.getFeature(Identifiable.class).addListener(id -> sectors.get(entry.sector).remove(entry));
+    }
+
+    /**
+     * Update active sectors from camera, flip entities of sectors leaving or entering range.
+     */
+    void update()
+    {
+        final int min = getSector(camera.getX() - margin);
+        final int max = getSector(camera.getX() + camera.getWidth() + margin);
+        if (min != left || max != right)
+        {
+            for (int i = left; i <= right; i++)
+            {
+                if (i < min || i > max)
+                {
+                    setActive(i, false);
+                }
+            }
+            for (int i = min; i <= max; i++)
+            {
+                if (i < left || i > right)
+                {
+                    setActive(i, true);
+                }
+            }
+            left = min;
+            right = max;
+        }
+    }
+
+    /**
+     * Set sector entities activity.
+     * 
+     * @param sector The sector index.
+     * @param active The active flag.
+     */
+    private void setActive(int sector, boolean active)
+    {
+        final List<Entry> entries = sectors.get(sector);
+        final int n = entries.size();
+        for (int i = 0; i < n; i++)
+        {
+            entries.get(i).active = active;
+        }
+    }
+
+    /**
+     * Check if sector is in active range.
+     * 
+     * @param sector The sector index.
+     * @return <code>true</code> if active, <code>false</code> else.
+     */
+    private boolean isInRange(int sector)
+    {
+        return sector >= left && sector <= right;
+    }
+
+    /**
+     * Get sector index from horizontal location.
+     * 
+     * @param x The horizontal location.
+     * @return The sector index, inside map.
+     */
+    private int getSector(double x)
+    {
+        return UtilMath.clamp((int) Math.floor(x / width), 0, sectors.size() - 1);
+    }
+
+    /**
+     * Entity activation entry.
+     */
+    public final class Entry
+    {
+        /** Current sector. */
+        private int sector;
+        /** Active flag. */
+        private boolean active;
+
+        /**
+         * Create entry.
+         * 
+         * @param sector The initial sector.
+         */
+        Entry(int sector)
+        {
+            super();
+
+            this.sector = sector;
+        }
+
+        /**
+         * Update entity location, changes its sector only if needed.
+         * 
+         * @param x The horizontal location.
+         */
+        public void move(double x)
+        {
+            final int current = getSector(x);
+            if (current != sector)
+            {
+                sectors.get(sector).remove(this);
+                sectors.get(current).add(this);
+                sector = current;
+                active = isInRange(current);
+            }
+        }
+
+        /**
+         * Check if entity sector is active.
+         * 
+         * @return <code>true</code> if active, <code>false</code> else.
+         */
+        public boolean isActive()
+        {
+            return active;
+        }
+    }
+}
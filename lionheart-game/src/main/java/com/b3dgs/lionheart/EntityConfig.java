@@ -25,8 +25,6 @@ import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.Origin;
 import com.b3dgs.lionengine.XmlReader;
-import com.b3dgs.lionengine.game.Configurer;
-import com.b3dgs.lionengine.game.OriginConfig;
 import com.b3dgs.lionengine.game.SizeConfig;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.geom.Coord;
@@ -50,11 +48,11 @@ public final class EntityConfig
     /** Entity node name. */
     public static final String NODE_ENTITY = "entity";
     /** Configuration file attribute name. */
-    private static final String ATT_FILE = "file";
+    static final String ATT_FILE = "file";
     /** Spawn tile x attribute name. */
-    private static final String ATT_RESPAWN_TX = "tx";
+    static final String ATT_RESPAWN_TX = "tx";
     /** Spawn tile y attribute name. */
-    private static final String ATT_RESPAWN_TY = "ty";
+    static final String ATT_RESPAWN_TY = "ty";
     /** Jump attribute name. */
     private static final String ATT_JUMP = "jump";
     /** Mirror attribute name. */
@@ -81,11 +79,33 @@ public final class EntityConfig
     {
         Check.notNull(root);
 
-        return new EntityConfig(root);
+        return new EntityConfig(Medias.create(root.readString(ATT_FILE)),
+                                new Coord(root.readDouble(ATT_RESPAWN_TX), root.readDouble(ATT_RESPAWN_TY)),
+                                root);
+    }
+
+    /**
+     * Imports the config from already decoded file and spawn, with remaining attributes and children from root.
+     * 
+     * @param media The entity media (must not be <code>null</code>).
+     * @param spawn The spawn tile (must not be <code>null</code>).
+     * @param root The root reference holding other attributes and children (must not be <code>null</code>).
+     * @return The config data.
+     * @throws LionEngineException If unable to read node.
+     */
+    static EntityConfig imports(Media media, Coord spawn, XmlReader root)
+    {
+        Check.notNull(media);
+        Check.notNull(spawn);
+        Check.notNull(root);
+
+        return new EntityConfig(media, spawn, root);
     }
 
     /** Configuration file. */
     private final Media media;
+    /** Shared entity definition. */
+    private final EntityDefinition definition;
     /** Size config. */
     private final SizeConfig size;
     /** Origin. */
@@ -130,22 +150,21 @@ public final class EntityConfig
     /**
      * Create config.
      * 
-     * @param root The configurer reference (must not be <code>null</code>).
+     * @param media The entity media.
+     * @param spawn The spawn tile.
+     * @param root The configurer reference.
      * @throws LionEngineException If unable to read node.
      */
-    private EntityConfig(XmlReader root)
+    private EntityConfig(Media media, Coord spawn, XmlReader root)
     {
         super();
 
-        Check.notNull(root);
-
-        media = Medias.create(root.readString(ATT_FILE));
-
-        final Configurer configurer = new Configurer(media);
-        size = SizeConfig.imports(configurer);
-        origin = OriginConfig.imports(configurer);
+        this.media = media;
+        this.spawn = spawn;
 
-        spawn = new Coord(root.readDouble(ATT_RESPAWN_TX), root.readDouble(ATT_RESPAWN_TY));
+        definition = EntityDefinition.get(media);
+        size = definition.getSize();
+        origin = definition.getOrigin();
 
         patrols = PatrolConfig.imports(root.getChildren(PatrolConfig.NODE_PATROL));
         spike = root.getChildOptional(SpikeConfig.NODE_SPIKE).map(SpikeConfig::imports);
@@ -183,6 +202,16 @@ public final class EntityConfig
         return media;
     }
 
+    /**
+     * Get the shared entity definition.
+     * 
+     * @return The entity definition.
+     */
+    public EntityDefinition getDefinition()
+    {
+        return definition;
+    }
+
     /**
      * Get raster index.
      * 
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.b3dgs.lionengine.Check;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Origin;
+import com.b3dgs.lionengine.game.Configurer;
+import com.b3dgs.lionengine.game.OriginConfig;
+import com.b3dgs.lionengine.game.SizeConfig;
+import com.b3dgs.lionengine.game.feature.collidable.Collision;
+import com.b3dgs.lionengine.game.feature.collidable.CollisionConfig;
+import com.b3dgs.lionheart.object.EntityModel;
+import com.b3dgs.lionheart.object.feature.TakeableConfig;
+
+/**
+ * Entity definition, parsed once per entity media and shared by all stages.
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public final class EntityDefinition
+{
+    /** Parsed definitions. */
+    private static final Map<Media, EntityDefinition> CACHE = new ConcurrentHashMap<>();
+    /** Lookups count. */
+    private static final AtomicInteger LOOKUPS = new AtomicInteger();
+    /** Misses count. */
+    private static final AtomicInteger MISSES = new AtomicInteger();
+
+    /**
+     * Get the definition of entity, parse it on first access.
+     * 
+     * @param media The entity media (must not be <code>null</code>).
+     * @return The shared definition.
+     * @throws LionEngineException If invalid argument or unable to read entity.
+     */
+    public static EntityDefinition get(Media media)
+    {
+        Check.notNull(media);
+
+        LOOKUPS.incrementAndGet();
+        return CACHE.computeIfAbsent(media, m ->
+        {
+            MISSES.incrementAndGet();
+            return new EntityDefinition(m);
+        });
+    }
+
+    /**
+     * Get the number of cache hits.
+     * 
+     * @return The cache hits.
+     */
+    public static int getHits()
+    {
+        return LOOKUPS.get() - MISSES.get();
+    }
+
+    /**
+     * Get the number of cache misses (parsed definitions).
+     * 
+     * @return The cache misses.
+     */
+    public static int getMisses()
+    {
+        return MISSES.get();
+    }
+
+    /**
+     * Clear cached definitions and counters.
+     */
+    public static void clear()
+    {
+        CACHE.clear();
+        LOOKUPS.set(0);
+        MISSES.set(0);
+    }
+
+    /**
+     * Get largest collision extent from entity location.
+     * 
+     * @param configurer The entity configurer.
+     * @return The largest extent, <code>0</code> if no collision.
+     */
+    private static int getExtent(Configurer configurer)
+    {
+        int extent = 0;
+        final List<Collision> collisions = CollisionConfig.imports(configurer).getCollisions();
+        final int n = collisions.size();
+        for (int i = 0; i < n; i++)
+        {
+            final Collision collision = collisions.get(i);
+            extent = Math.max(extent, Math.abs(collision.getOffsetX()) + collision.getWidth());
+            extent = Math.max(extent, Math.abs(collision.getOffsetY()) + collision.getHeight());
+        }
+        return extent;
+    }
+
+    /** Entity media. */
+    private final Media media;
+    /** Size config. */
+    private final SizeConfig size;
+    /** Origin. */
+    private final Origin origin;
+    /** Always update flag. */
+    private final boolean alwaysUpdate;
+    /** Takeable configuration. */
+    private final Optional<TakeableConfig> takeable;
+    /** Largest collision extent. */
+    private final int collisionExtent;
+
+    /**
+     * Create definition.
+     * 
+     * @param media The entity media.
+     * @throws LionEngineException If unable to read entity.
+     */
+    private EntityDefinition(Media media)
+    {
+        super();
+
+        this.media = media;
+
+        final Configurer configurer = new Configurer(media);
+        size = SizeConfig.imports(configurer);
+        origin = OriginConfig.imports(configurer);
+        alwaysUpdate = Boolean.valueOf(configurer.getTextDefault("false", EntityModel.NODE_ALWAYS_UPDATE))
+                              .booleanValue();
+        if (configurer.hasNode(TakeableConfig.NODE_TAKEABLE))
+        {
+            takeable = Optional.of(TakeableConfig.imports(configurer));
+        }
+        else
+        {
+            takeable = Optional.empty();
+        }
+        collisionExtent = getExtent(configurer);
+    }
+
+    /**
+     * Get the media.
+     * 
+     * @return The media.
+     */
+    public Media getMedia()
+    {
+        return media;
+    }
+
+    /**
+     * Get the size.
+     * 
+     * @return The size.
+     */
+    public SizeConfig getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Get the origin.
+     * 
+     * @return The origin.
+     */
+    public Origin getOrigin()
+    {
+        return origin;
+    }
+
+    /**
+     * Check if entity is always updated, even out of camera.
+     * 
+     * @return <code>true</code> if always updated, <code>false</code> else.
+     */
+    public boolean isAlwaysUpdate()
+    {
+        return alwaysUpdate;
+    }
+
+    /**
+     * Get the takeable configuration.
+     * 
+     * @return The takeable configuration, empty if not takeable.
+     */
+    public Optional<TakeableConfig> getTakeable()
+    {
+        return takeable;
+    }
+
+    /**
+     * Get the largest collision extent from entity location, on both axis.
+     * 
+     * @return The largest collision extent, <code>0</code> if no collision.
+     */
+    public int getCollisionExtent()
+    {
+        return collisionExtent;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.Viewer;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Identifiable;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionheart.object.feature.Stats;
+
+/**
+ * Stage entities spawned when camera comes near, indexed by spawn tile column.
+ * <p>
+ * Entities are spawned once their column enters camera view extended by a margin. When despawn is enabled, spawned
+ * entities without state to keep (see {@link #isStateless(Featurable, EntityConfig)}) far away from camera are
+ * removed and indexed again, to be spawned again when camera comes back. Destroyed entities are never spawned again.
+ * </p>
+ */
+final class EntityStreamer
+{
+    /** Despawn distance, in margin. */
+    private static final int DESPAWN_FACTOR = 4;
+
+    /**
+     * Check if entity can be spawned again without losing state: not linked to stage progress, not damaged.
+     * 
+     * @param featurable The spawned entity.
+     * @param entity The entity configuration.
+     * @return <code>true</code> if stateless, <code>false</code> else.
+     */
+    private static boolean isStateless(Featurable featurable, EntityConfig entity)
+    {
+        if (entity.getNext().isPresent() || entity.getSecret().isPresent())
+        {
+            return false;
+        }
+        if (featurable.hasFeature(Stats.class))
+        {
+            final Stats stats = featurable.getFeature(Stats.class);
+            return stats.getHealth() == stats.getHealthMax();
+        }
+        return true;
+    }
+
+    /** Pending entities, by tile column. */
+    private final List<List<EntityConfig>> columns;
+    /** Spawned entities with their configuration. */
+    private final Map<Featurable, EntityConfig> spawned = new HashMap<>();
+    /** Map reference. */
+    private final MapTile map;
+    /** Camera reference. */
+    private final Viewer camera;
+    /** Entity creation. */
+    private final Function<EntityConfig, Featurable> creator;
+    /** Spawn margin in tile. */
+    private final int margin;
+    /** Despawn flag. */
+    private final boolean despawn;
+    /** Last spawned left column. */
+    private int left = -1;
+    /** Last spawned right column. */
+    private int right = -1;
+
+    /**
+     * Create streamer.
+     * 
+     * @param map The map reference.
+     * @param camera The camera reference.
+     * @param creator The entity creation.
+     * @param margin The spawn margin in tile.
+     * @param despawn <code>true</code> to despawn far stateless entities, <code>false</code> else.
+     */
+    EntityStreamer(MapTile map,
+                   Viewer camera,
+                   Function<EntityConfig, Featurable> creator,
+                   int margin,
+                   boolean despawn)
+    {
+        super();
+
+        this.map = map;
+        this.camera = camera;
+        this.creator = creator;
+        this.margin = margin;
+        this.despawn = despawn;
+
+        final int n = Math.max(1, map.getInTileWidth());
+        columns = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+        {
+            columns.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Add entity to spawn when camera comes near.
+     * 
+     * @param entity The entity configuration.
+     */
+    void add(EntityConfig entity)
+    {
+        columns.get(getColumn(entity.getSpawnX(map))).add(entity);
+    }
+
+    /**
+     * Spawn entities around location, despawn far ones if enabled.
+     * 
+     * @param x The horizontal view center location.
+     */
+    void update(double x)
+    {
+        final int half = (int) Math.ceil(camera.getWidth() / 2.0 / map.getTileWidth());
+        final int center = getColumn(x);
+        final int min = Math.max(0, center - half - margin);
+        final int max = Math.min(columns.size() - 1, center + half + margin);
+        if (min != left || max != right)
+        {
+            left = min;
+            right = max;
+            for (int tx = min; tx <= max; tx++)
+            {
+                spawn(columns.get(tx));
+            }
+            if (despawn)
+            {
+                despawn(center, half + margin * DESPAWN_FACTOR);
+            }
+        }
+    }
+
+    /**
+     * Spawn column entities.
+     * 
+     * @param column The column entities.
+     */
+    private void spawn(List<EntityConfig> column)
+    {
+        final int n = column.size();
+        for (int i = 0; i < n; i++)
+        {
+            final EntityConfig entity = column.get(i);
+            final Featurable featurable = creator.apply(entity);
+            spawned.put(featurable, entity);
+            featurable.getFeature(Identifiable.class).addListener(id -> spawned.remove(featurable));
+        }
+        column.clear();
+    }
+
+    /**
+     * Despawn stateless entities too far from camera, and index them again.
+     * 
+     * @param center The view center column.
+     * @param range The kept columns range.
+     */
+    private void despawn(int center, int range)
+    {
+        final Iterator<Map.Entry<Featurable, EntityConfig>> iterator = spawned.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            final Map.Entry<Featurable, EntityConfig> entry = iterator.next();
+            final Featurable featurable = entry.getKey();
+            final int tx = getColumn(featurable.getFeature(Transformable.class).getX());
+            if (Math.abs(tx - center) > range && isStateless(featurable, entry.getValue()))
+            {
+                iterator.remove();
+                featurable.getFeature(Identifiable.class).destroy();
+                add(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Get column index from horizontal location.
+     * 
+     * @param x The horizontal location.
+     * @return The column index, inside map.
+     */
+    private int getColumn(double x)
+    {
+        return UtilMath.clamp((int) Math.floor(x / map.getTileWidth()), 0, columns.size() - 1);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.HandlerListener;
+import com.b3dgs.lionengine.game.feature.Transformable;
+
+/**
+ * Simulation in fixed steps, with rendering interpolated between the last two steps (see
+ * {@link Settings#getSimulationFixed()}).
+ * <p>
+ * Frame time, as extrapolation value (<code>1.0</code> is one frame at game rate, 60 per second), is accumulated and
+ * simulation is updated by steps of <code>1.0</code>, so gameplay does not depend on frame time. Steps per frame are
+ * bounded, remaining time is dropped after a frame spike instead of cascading. Before rendering, entities and camera
+ * are moved between their previous and current step location by the remaining time ratio, then moved back after.
+ * </p>
+ */
+final class FixedStep implements HandlerListener
+{
+    /** Step duration, in extrapolation value. */
+    private static final double STEP = 1.0;
+    /** Maximum interpolated move in pixel, greater moves are teleports. */
+    private static final double MAX_MOVE = 32.0;
+
+    /**
+     * Get interpolated value.
+     * 
+     * @param previous The previous step value.
+     * @param current The current step value.
+     * @param alpha The interpolation ratio.
+     * @return The interpolated value, current value if too far from previous.
+     */
+    private static double interpolate(double previous, double current, double alpha)
+    {
+        final double delta = current - previous;
+        if (Math.abs(delta) > MAX_MOVE)
+        {
+            return current;
+        }
+        return previous + delta * alpha;
+    }
+
+    /** Interpolated entities. */
+    private final List<Entry> entries = new ArrayList<>();
+    /** Camera interpolation. */
+    private final Entry view = new Entry(null);
+    /** Simulation update. */
+    private final Updatable simulation;
+    /** Camera reference. */
+    private final Camera camera;
+    /** Maximum steps per frame. */
+    private final int catchUp;
+    /** Accumulated time. */
+    private double accumulator;
+    /** Interpolation ratio. */
+    private double alpha;
+
+    /**
+     * Create fixed step.
+     * 
+     * @param simulation The simulation update.
+     * @param camera The camera reference.
+     * @param catchUp The maximum steps per frame.
+     */
+    FixedStep(Updatable simulation, Camera camera, int catchUp)
+    {
+        super();
+
+        this.simulation = simulation;
+        this.camera = camera;
+        this.catchUp = Math.max(1, catchUp);
+    }
+
+    /**
+     * Update simulation by fixed steps.
+     * 
+     * @param extrp The extrapolation value.
+     */
+    void update(double extrp)
+    {
+        accumulator += extrp;
+        int steps = 0;
+        while (accumulator >= STEP && steps < catchUp)
+        {
+            backup();
+            simulation.update(STEP);
+            accumulator -= STEP;
+            steps++;
+        }
+        if (accumulator >= STEP)
+        {
+            accumulator %= STEP;
+        }
+        alpha = accumulator / STEP;
+    }
+
+    /**
+     * Move entities and camera to their interpolated location, must be followed by {@link #restore()}.
+     */
+    void interpolate()
+    {
+        final int n = entries.size();
+        for (int i = 0; i < n; i++)
+        {
+            final Entry entry = entries.get(i);
+            final Transformable transformable = entry.transformable;
+            entry.x = transformable.getX();
+            entry.y = transformable.getY();
+            transformable.setLocation(interpolate(entry.previousX, entry.x, alpha),
+                                      interpolate(entry.previousY, entry.y, alpha));
+        }
+        view.x = camera.getX();
+        view.y = camera.getY();
+        camera.setLocation(interpolate(view.previousX, view.x, alpha), interpolate(view.previousY, view.y, alpha));
+    }
+
+    /**
+     * Move entities and camera back to their current step location.
+     */
+    void restore()
+    {
+        final int n = entries.size();
+        for (int i = 0; i < n; i++)
+        {
+            final Entry entry = entries.get(i);
+            entry.transformable.setLocation(entry.x, entry.y);
+        }
+        camera.setLocation(view.x, view.y);
+    }
+
+    /**
+     * Store current step location as previous one.
+     */
+    private void backup()
+    {
+        final int n = entries.size();
+        for (int i = 0; i < n; i++)
+        {
+            final Entry entry = entries.get(i);
+            entry.previousX = entry.transformable.getX();
+            entry.previousY = entry.transformable.getY();
+        }
+        view.previousX = camera.getX();
+        view.previousY = camera.getY();
+    }
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        if (featurable.hasFeature(Transformable.class))
+        {
+            final Entry entry = new Entry(featurable.getFeature(Transformable.class));
+            entry.previousX = entry.transformable.getX();
+            entry.previousY = entry.transformable.getY();
+            entries.add(entry);
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        if (featurable.hasFeature(Transformable.class))
+        {
+            final Transformable transformable = featurable.getFeature(Transformable.class);
+            final int n = entries.size();
+            for (int i = n - 1; i >= 0; i--)
+            {
+                if (entries.get(i).transformable == transformable)
+                {
+                    entries.remove(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Interpolated location.
+     */
+    private static final class Entry
+    {
+        /** Transformable reference, <code>null</code> for camera. */
+        private final Transformable transformable;
+        /** Previous step horizontal location. */
+        private double previousX;
+        /** Previous step vertical location. */
+        private double previousY;
+        /** Current step horizontal location. */
+        private double x;
+        /** Current step vertical location. */
+        private double y;
+
+        /**
+         * Create entry.
+         * 
+         * @param transformable The transformable reference.
+         */
+        Entry(Transformable transformable)
+        {
+            super();
+
+            this.transformable = transformable;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionheart.constant.Extension;
+
+/**
+ * Stage loading pipeline, running independent phases concurrently.
+ * <p>
+ * Forked phases run on the fork-join pool and must only touch their own data. Other phases run on the loading
+ * thread, in call order, once their dependencies are done: they are the only ones allowed to access services and
+ * handler, which are not thread-safe. All phases are joined before first frame with {@link #join(Media)}, which reports
+ * per-phase timings.
+ * </p>
+ * <p>
+ * When load profiling is enabled (see {@link Settings#getProfileLoad()}), each phase measure (see {@link LoadProbe}) is
+ * also appended to a per-stage CSV report in the settings folder, so loads can be compared between builds. Phases
+ * with same name are summed, nested phases are also counted in their parent phase.
+ * </p>
+ */
+final class LoadPipeline
+{
+    /** Nano to milli. */
+    private static final double NANO_TO_MILLI = 1_000_000.0;
+    /** Reports folder, in settings folder. */
+    private static final String FOLDER = "profile";
+    /** Report header. */
+    private static final String HEADER = "date,version,phase,time_ms,alloc_bytes,files";
+    /** Log format. */
+    private static final String FORMAT = "Stage load %-12s %8.2fms";
+
+    /**
+     * Wait for phases end.
+     * 
+     * @param phases The phases to wait.
+     * @throws LionEngineException If a phase failed.
+     */
+    private static void await(CompletableFuture<?> phases)
+    {
+        try
+        {
+            phases.join();
+        }
+        catch (final CompletionException exception)
+        {
+            if (exception.getCause() instanceof LionEngineException)
+            {
+                throw (LionEngineException) exception.getCause();
+            }
+            throw new LionEngineException(exception.getCause());
+        }
+    }
+
+    /** Phases measure, by name, in end order. */
+    private final Map<String, LoadProbe> timings = new LinkedHashMap<>();
+    /** Forked phases. */
+    private final List<CompletableFuture<?>> forks = new ArrayList<>();
+    /** Pipeline measure, since creation. */
+    private final LoadProbe total = LoadProbe.start();
+
+    /**
+     * Create pipeline.
+     */
+    LoadPipeline()
+    {
+        super();
+    }
+
+    /**
+     * Fork phase on the fork-join pool.
+     * 
+     * @param <T> The phase result type.
+     * @param name The phase name.
+     * @param phase The phase to run, thread-safe.
+     * @return The phase result.
+     */
+    <T> CompletableFuture<T> fork(String name, Supplier<T> phase)
+    {
+        final CompletableFuture<T> fork = CompletableFuture.supplyAsync(() ->
+        {
+            final LoadProbe probe = LoadProbe.start();
+            final T result = phase.get();
+            add(name, probe.stop());
+            return result;
+        }, ForkJoinPool.commonPool());
+        forks.add(fork);
+        return fork;
+    }
+
+    /**
+     * Run phase on the loading thread, after its dependencies.
+     * 
+     * @param name The phase name.
+     * @param phase The phase to run.
+     * @param dependencies The forked phases required.
+     * @throws LionEngineException If a dependency failed.
+     */
+    void run(String name, Runnable phase, CompletableFuture<?>... dependencies)
+    {
+        await(CompletableFuture.allOf(dependencies));
+
+        final LoadProbe probe = LoadProbe.start();
+        phase.run();
+        add(name, probe.stop());
+    }
+
+    /**
+     * Add phase measured outside pipeline.
+     * 
+     * @param name The phase name.
+     * @param probe The stopped phase measure.
+     */
+    void add(String name, LoadProbe probe)
+    {
+        synchronized (timings)
+        {
+            final LoadProbe previous = timings.get(name);
+            if (previous == null)
+            {
+                timings.put(name, probe);
+            }
+            else
+            {
+                previous.merge(probe);
+            }
+        }
+    }
+
+    /**
+     * Join all forked phases and report timings.
+     * 
+     * @param stage The loaded stage.
+     * @throws LionEngineException If a forked phase failed.
+     */
+    void join(Media stage)
+    {
+        await(CompletableFuture.allOf(forks.toArray(new CompletableFuture<?>[forks.size()])));
+        add("total", total.stop());
+
+        synchronized (timings)
+        {
+            for (final Map.Entry<String, LoadProbe> timing : timings.entrySet())
+            {
+                Verbose.info(String.format(Locale.ENGLISH,
+                                           FORMAT,
+                                           timing.getKey(),
+                                           Double.valueOf(timing.getValue().getDuration() / NANO_TO_MILLI)));
+            }
+            if (Settings.getInstance().getProfileLoad())
+            {
+                save(stage);
+            }
+        }
+    }
+
+    /**
+     * Append timings to stage report.
+     * 
+     * @param stage The loaded stage.
+     */
+    private void save(Media stage)
+    {
+        final File folder = new File(Settings.getFile().getParentFile(), FOLDER);
+        final String name = stage.getPath().replaceAll("[\\\\/]", "_").replace(Extension.STAGE, ".csv");
+        final File report = new File(folder, name);
+        final boolean header = !report.isFile();
+        if (folder.isDirectory() || folder.mkdirs())
+        {
+            try (Writer output = new FileWriter(report, true))
+            {
+                if (header)
+                {
+                    output.write(HEADER + System.lineSeparator());
+                }
+                final String date = String.format(Locale.ENGLISH, "%tFT%<tT", new Date());
+                for (final Map.Entry<String, LoadProbe> timing : timings.entrySet())
+                {
+                    final LoadProbe probe = timing.getValue();
+                    output.write(String.format(Locale.ENGLISH,
+                                               "%s,%s,%s,%.3f,%d,%d%n",
+                                               date,
+                                               Constant.PROGRAM_VERSION,
+                                               timing.getKey(),
+                                               Double.valueOf(probe.getDuration() / NANO_TO_MILLI),
+                                               Long.valueOf(probe.getAllocated()),
+                                               Integer.valueOf(probe.getFiles())));
+                }
+            }
+            catch (final IOException exception)
+            {
+                Verbose.exception(exception);
+            }
+        }
+        else
+        {
+            Verbose.warning("Unable to create folder: ", folder.getPath());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.lang.reflect.Method;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Verbose;
+
+/**
+ * Loading phase measure on current thread: wall time, allocated bytes and files read.
+ * <p>
+ * Allocated bytes are only measured when load profiling is enabled (see {@link Settings#getProfileLoad()}) and
+ * supported by the virtual machine, <code>-1</code> else. Management API is looked up by reflection, as it is not
+ * available on all platforms (Android). Files are the ones read by game loaders (see {@link #countFile()}), files read
+ * by the engine itself are not counted.
+ * </p>
+ */
+final class LoadProbe
+{
+    /** Files read by current thread. */
+    private static final ThreadLocal<int[]> FILES = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Count a file read by current thread.
+     */
+    static void countFile()
+    {
+        FILES.get()[0]++;
+    }
+
+    /**
+     * Start measure on current thread.
+     * 
+     * @return The started probe.
+     */
+    static LoadProbe start()
+    {
+        return new LoadProbe(System.nanoTime(), getAllocatedBytes(), FILES.get()[0]);
+    }
+
+    /**
+     * Get bytes allocated by current thread.
+     * 
+     * @return The allocated bytes, <code>-1</code> if disabled or not supported.
+     */
+    private static long getAllocatedBytes()
+    {
+        if (Settings.getInstance().getProfileLoad())
+        {
+            return Allocation.get();
+        }
+        return -1L;
+    }
+
+    /** Duration in nano seconds (start time while running). */
+    private long duration;
+    /** Allocated bytes (start value while running), <code>-1</code> if not measured. */
+    private long allocated;
+    /** Files read (start value while running). */
+    private int files;
+
+    /**
+     * Create probe.
+     * 
+     * @param duration The duration.
+     * @param allocated The allocated bytes.
+     * @param files The files read.
+     */
+    private LoadProbe(long duration, long allocated, int files)
+    {
+        super();
+
+        this.duration = duration;
+        this.allocated = allocated;
+        this.files = files;
+    }
+
+    /**
+     * Stop measure, must be called on the starting thread.
+     * 
+     * @return This probe.
+     */
+    LoadProbe stop()
+    {
+        duration = System.nanoTime() - duration;
+        if (allocated > -1L)
+        {
+            allocated = getAllocatedBytes() - allocated;
+        }
+        files = FILES.get()[0] - files;
+        return this;
+    }
+
+    /**
+     * Add other measure to this one.
+     * 
+     * @param other The other measure.
+     */
+    void merge(LoadProbe other)
+    {
+        duration += other.duration;
+        if (allocated > -1L && other.allocated > -1L)
+        {
+            allocated += other.allocated;
+        }
+        else
+        {
+            allocated = -1L;
+        }
+        files += other.files;
+    }
+
+    /**
+     * Get the duration.
+     * 
+     * @return The duration in nano seconds.
+     */
+    long getDuration()
+    {
+        return duration;
+    }
+
+    /**
+     * Get the allocated bytes.
+     * 
+     * @return The allocated bytes, <code>-1</code> if not measured.
+     */
+    long getAllocated()
+    {
+        return allocated;
+    }
+
+    /**
+     * Get the files read.
+     * 
+     * @return The files read.
+     */
+    int getFiles()
+    {
+        return files;
+    }
+
+    /**
+     * Thread allocated bytes from management API, resolved on first use.
+     */
+    private static final class Allocation
+    {
+        /** Management factory class name. */
+        private static final String MANAGEMENT = "java.lang.management.ManagementFactory";
+        /** Thread bean with allocated bytes class name. */
+        private static final String THREAD_BEAN = "com.sun.management.ThreadMXBean";
+        /** Thread bean, <code>null</code> if not supported. */
+        private static final Object BEAN = getBean();
+        /** Allocated bytes method, <code>null</code> if not supported. */
+        private static final Method ALLOCATED = getAllocated(BEAN);
+
+        /**
+         * Get thread bean.
+         * 
+         * @return The thread bean, <code>null</code> if not supported.
+         */
+        private static Object getBean()
+        {
+            try
+            {
+                return Class.forName(MANAGEMENT).getMethod("getThreadMXBean").invoke(null);
+            }
+            catch (final ReflectiveOperationException | LinkageError exception)
+            {
+                Verbose.info("Allocated bytes not supported: ", exception.toString());
+                return null;
+            }
+        }
+
+        /**
+         * Get allocated bytes method.
+         * 
+         * @param bean The thread bean (can be <code>null</code>).
+         * @return The allocated bytes method, <code>null</code> if not supported.
+         */
+        private static Method getAllocated(Object bean)
+        {
+            if (bean != null)
+            {
+                try
+                {
+                    final Class<?> type = Class.forName(THREAD_BEAN);
+                    if (type.isInstance(bean))
+                    {
+                        return type.getMethod("getThreadAllocatedBytes", long.class);
+                    }
+                }
+                catch (final ReflectiveOperationException | LinkageError exception)
+                {
+                    Verbose.info("Allocated bytes not supported: ", exception.toString());
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Get bytes allocated by current thread.
+         * 
+         * @return The allocated bytes, <code>-1</code> if not supported.
+         */
+        static long get()
+        {
+            if (ALLOCATED != null)
+            {
+                try
+                {
+                    return ((Long) ALLOCATED.invoke(BEAN, Long.valueOf(Thread.currentThread().getId()))).longValue();
+                }
+                catch (final ReflectiveOperationException exception)
+                {
+                    Verbose.exception(exception);
+                }
+            }
+            return -1L;
+        }
+
+        /**
+         * Private constructor.
+         */
+        private Allocation()
+        {
+            throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+        }
+    }
+}
@@ -54,8 +54,7 @@ public final class Loading extends Sequence
     @Override
     public void load()
     {
-        Sfx.cache(Sfx.MENU_SELECT);
-        Sfx.cacheStart();
+        Sfx.loadCommon();
 
         loading.load();
         loading.prepare();
@@ -16,23 +16,240 @@
  */
 package com.b3dgs.lionheart;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.UtilConversion;
 import com.b3dgs.lionengine.game.feature.FeatureGet;
 import com.b3dgs.lionengine.game.feature.FeatureInterface;
 import com.b3dgs.lionengine.game.feature.tile.Tile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
+import com.b3dgs.lionengine.game.feature.tile.map.persister.MapTilePersisterListener;
 import com.b3dgs.lionengine.game.feature.tile.map.persister.MapTilePersisterModel;
 import com.b3dgs.lionengine.io.FileReading;
 import com.b3dgs.lionengine.io.FileWriting;
 
 /**
  * Handle the map persistence by providing saving and loading functions.
+ * <p>
+ * Maps are saved with the v2 format: a chunk directory locating each chunk of {@link #CHUNK_SIZE} tiles, and chunks
+ * cells stored row by row as spans, alternating between empty cells and tiles, starting with empty cells. Each span is
+ * stored as its length, followed by its tiles number for a tiles span. Lengths and numbers are variable length
+ * integers (7 bits per byte, low bits first, high bit set when more bytes follow).
+ * </p>
+ * <p>
+ * The v1 format (tile number and location per tile, by block) is still loaded, format is detected from the header.
+ * Tiles located outside map are ignored, as map can not hold them (some v1 levels have a column after map width).
+ * </p>
+ * <p>
+ * In addition to stream loading, map can be loaded in bulk from a buffer, see {@link #read(Media)} and
+ * {@link #load(ByteBuffer)}. Tiles can also be forwarded instead of being set on map, for a deferred materialization
+ * (see {@link MapTileStreamer}).
+ * </p>
  */
 @FeatureInterface
 public class MapTilePersisterOptimized extends MapTilePersisterModel
 {
+    /** Chunk size in tile (v2 format). */
+    public static final int CHUNK_SIZE = 32;
+    /** Format v2 magic, negative first short to never match a v1 tile width. */
+    private static final int MAGIC_V2 = 0xB3D64C32;
+    /** Format v2 version. */
+    private static final int VERSION_V2 = 2;
+    /** Empty cell number. */
+    private static final int EMPTY = -1;
+    /** Tile size in byte (v1 format). */
+    private static final int TILE_V1 = 4;
+    /** Variable length integer bits per byte. */
+    private static final int VARINT_BITS = 7;
+    /** Variable length integer value mask. */
+    private static final int VARINT_MASK = 0x7F;
+    /** Variable length integer more bytes flag. */
+    private static final int VARINT_MORE = 0x80;
+    /** Read buffer size. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Read map tiles data in a buffer, memory-mapped when media is backed by a file.
+     * 
+     * @param media The map tiles data.
+     * @return The map tiles data buffer.
+     * @throws IOException If error on reading.
+     */
+    public static ByteBuffer read(Media media) throws IOException
+    {
+        LoadProbe.countFile();
+        final File file = media.getFile();
+        if (file != null && file.isFile())
+        {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+            {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size()).load();
+            }
+        }
+        try (InputStream input = media.getInputStream();
+             ByteArrayOutputStream output = new ByteArrayOutputStream())
+        {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) > 0)
+            {
+                output.write(buffer, 0, read);
+            }
+            return ByteBuffer.wrap(output.toByteArray());
+        }
+    }
+
+    /**
+     * Read map tiles data from stream, v1 or v2 format. Data lengths are read from header, so stream is read until map
+     * tiles data end only, tiles data being read in bulk.
+     * 
+     * @param file The file reading.
+     * @return The map tiles data.
+     * @throws IOException If error on reading.
+     */
+    private static ByteBuffer read(FileReading file) throws IOException
+    {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream(BUFFER_SIZE);
+        try (DataOutputStream output = new DataOutputStream(data))
+        {
+            final int first = file.readInteger();
+            output.writeInt(first);
+            if (first == MAGIC_V2)
+            {
+                readV2(file, output);
+            }
+            else
+            {
+                readV1(file, output);
+            }
+        }
+        return ByteBuffer.wrap(data.toByteArray());
+    }
+
+    /**
+     * Read v1 format after tile size: map size, blocks number, then blocks with their tiles count and tiles.
+     * 
+     * @param file The file reading.
+     * @param output The data output.
+     * @throws IOException If error on reading.
+     */
+    private static void readV1(FileReading file, DataOutputStream output) throws IOException
+    {
+        copy(file, output, Integer.BYTES * 2);
+
+        final int blocksH = file.readShort();
+        final int blocksV = file.readShort();
+        output.writeShort(blocksH);
+        output.writeShort(blocksV);
+
+        final int blocks = blocksH * blocksV;
+        for (int i = 0; i < blocks; i++)
+        {
+            final int count = file.readChar();
+            output.writeChar(count);
+            copy(file, output, count * TILE_V1);
+        }
+    }
+
+    /**
+     * Read v2 format after magic: version, tile size, map size and chunk size, chunks number, chunk directory, then
+     * chunks data with the length of chunk directory end offset.
+     * 
+     * @param file The file reading.
+     * @param output The data output.
+     * @throws IOException If error on reading.
+     */
+    private static void readV2(FileReading file, DataOutputStream output) throws IOException
+    {
+        copy(file, output, Short.BYTES * 4 + Integer.BYTES * 2);
+
+        final int chunksH = file.readShort();
+        final int chunksV = file.readShort();
+        output.writeShort(chunksH);
+        output.writeShort(chunksV);
+
+        final int chunks = chunksH * chunksV;
+        final byte[] directory = copy(file, output, (chunks + 1) * Integer.BYTES);
+        copy(file, output, ByteBuffer.wrap(directory).getInt(chunks * Integer.BYTES));
+    }
+
+    /**
+     * Copy data with a single read.
+     * 
+     * @param file The file reading.
+     * @param output The data output.
+     * @param length The data length in byte.
+     * @return The copied data.
+     * @throws IOException If error on reading.
+     */
+    private static byte[] copy(FileReading file, DataOutputStream output, int length) throws IOException
+    {
+        final byte[] data = new byte[length];
+        file.readFully(data);
+        output.write(data);
+        return data;
+    }
+
+    /**
+     * Read variable length integer.
+     * 
+     * @param data The data buffer.
+     * @return The read value.
+     */
+    private static int readVarint(ByteBuffer data)
+    {
+        int value = 0;
+        int shift = 0;
+        int current;
+        do
+        {
+            current = data.get();
+            value |= (current & VARINT_MASK) << shift;
+            shift += VARINT_BITS;
+        }
+        while ((current & VARINT_MORE) != 0);
+        return value;
+    }
+
+    /**
+     * Write variable length integer.
+     * 
+     * @param output The output.
+     * @param value The positive value.
+     * @throws IOException If error on writing.
+     */
+    private static void writeVarint(DataOutputStream output, int value) throws IOException
+    {
+        int remaining = value;
+        while (remaining >= VARINT_MORE)
+        {
+            output.writeByte(remaining & VARINT_MASK | VARINT_MORE);
+            remaining >>>= VARINT_BITS;
+        }
+        output.writeByte(remaining);
+    }
+
+    /** Persister listeners, notified on bulk loading. */
+    private final List<MapTilePersisterListener> listeners = new ArrayList<>();
+    /** Block tiles number, reused between blocks. */
+    private int[] numbers = new int[0];
+    /** Block tiles horizontal location, reused between blocks. */
+    private int[] xs = new int[0];
+    /** Block tiles vertical location, reused between blocks. */
+    private int[] ys = new int[0];
+
     @FeatureGet private MapTileSurface map;
 
     /**
@@ -43,6 +260,302 @@ public class MapTilePersisterOptimized extends MapTilePersisterModel
         super();
     }
 
+    /**
+     * Load map tiles in bulk from buffer, v1 or v2 format.
+     * 
+     * @param buffer The map tiles data buffer (read from its current position, left untouched).
+     * @throws LionEngineException If unsupported format.
+     */
+    public void load(ByteBuffer buffer)
+    {
+        load(buffer, map::setTile);
+    }
+
+    /**
+     * Load map tiles in bulk from buffer, v1 or v2 format. Map is created, but tiles are forwarded to consumer instead
+     * of being set.
+     * 
+     * @param buffer The map tiles data buffer (read from its current position, left untouched).
+     * @param consumer The tiles consumer.
+     * @throws LionEngineException If unsupported format.
+     */
+    void load(ByteBuffer buffer, TileConsumer consumer)
+    {
+        final ByteBuffer data = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+
+        final int n = listeners.size();
+        for (int i = 0; i < n; i++)
+        {
+            listeners.get(i).notifyMapLoadStart();
+        }
+
+        if (data.remaining() >= Integer.BYTES && data.getInt(data.position()) == MAGIC_V2)
+        {
+            loadV2(data, consumer);
+        }
+        else
+        {
+            loadV1(data, consumer);
+        }
+
+        for (int i = 0; i < n; i++)
+        {
+            listeners.get(i).notifyMapLoaded();
+        }
+    }
+
+    /**
+     * Load v1 format: tiles by block.
+     * 
+     * @param data The map tiles data.
+     * @param consumer The tiles consumer.
+     */
+    private void loadV1(ByteBuffer data, TileConsumer consumer)
+    {
+        final int tileWidth = data.getShort();
+        final int tileHeight = data.getShort();
+        final int widthInTile = data.getInt();
+        final int heightInTile = data.getInt();
+        map.create(tileWidth, tileHeight, widthInTile, heightInTile);
+
+        final int blocksH = data.getShort();
+        final int blocksV = data.getShort();
+        for (int sx = 0; sx < blocksH; sx++)
+        {
+            for (int sy = 0; sy < blocksV; sy++)
+            {
+                loadBlock(data, sx, sy, consumer);
+            }
+        }
+    }
+
+    /**
+     * Decode block tiles, then forward the ones inside map.
+     * 
+     * @param data The map tiles data, at block start.
+     * @param sx The block horizontal index.
+     * @param sy The block vertical index.
+     * @param consumer The tiles consumer.
+     */
+    private void loadBlock(ByteBuffer data, int sx, int sy, TileConsumer consumer)
+    {
+        final int count = data.getChar();
+        if (numbers.length < count)
+        {
+            numbers = new int[count];
+            xs = new int[count];
+            ys = new int[count];
+        }
+
+        final int widthInTile = map.getInTileWidth();
+        final int heightInTile = map.getInTileHeight();
+        final int ox = sx * BLOC_SIZE;
+        final int oy = sy * BLOC_SIZE;
+        for (int i = 0; i < count; i++)
+        {
+            numbers[i] = data.getChar();
+            xs[i] = UtilConversion.toUnsignedByte(data.get()) + ox;
+            ys[i] = UtilConversion.toUnsignedByte(data.get()) + oy;
+        }
+        for (int i = 0; i < count; i++)
+        {
+            if (xs[i] < widthInTile && ys[i] < heightInTile)
+            {
+                consumer.accept(xs[i], ys[i], numbers[i]);
+            }
+        }
+    }
+
+    /**
+     * Load v2 format: chunk directory and chunks spans.
+     * 
+     * @param data The map tiles data.
+     * @param consumer The tiles consumer.
+     * @throws LionEngineException If unsupported version.
+     */
+    private void loadV2(ByteBuffer data, TileConsumer consumer)
+    {
+        data.getInt();
+        final int version = data.getShort();
+        if (version != VERSION_V2)
+        {
+            throw new LionEngineException("Unsupported map version: " + version);
+        }
+        final int tileWidth = data.getShort();
+        final int tileHeight = data.getShort();
+        final int widthInTile = data.getInt();
+        final int heightInTile = data.getInt();
+        map.create(tileWidth, tileHeight, widthInTile, heightInTile);
+
+        final int chunkSize = data.getShort();
+        final int chunksH = data.getShort();
+        final int chunksV = data.getShort();
+        final int[] offsets = new int[chunksH * chunksV + 1];
+        for (int i = 0; i < offsets.length; i++)
+        {
+            offsets[i] = data.getInt();
+        }
+
+        final int start = data.position();
+        for (int cy = 0; cy < chunksV; cy++)
+        {
+            for (int cx = 0; cx < chunksH; cx++)
+            {
+                final int x = cx * chunkSize;
+                final int y = cy * chunkSize;
+                data.position(start + offsets[cy * chunksH + cx]);
+                loadChunk(data,
+                          x,
+                          y,
+                          Math.min(chunkSize, widthInTile - x),
+                          Math.min(chunkSize, heightInTile - y),
+                          consumer);
+            }
+        }
+    }
+
+    /**
+     * Decode chunk spans and forward tiles.
+     * 
+     * @param data The map tiles data, at chunk start.
+     * @param x The chunk horizontal tile location.
+     * @param y The chunk vertical tile location.
+     * @param width The chunk width in tile.
+     * @param height The chunk height in tile.
+     * @param consumer The tiles consumer.
+     */
+    private void loadChunk(ByteBuffer data, int x, int y, int width, int height, TileConsumer consumer)
+    {
+        final int cells = width * height;
+        int cell = 0;
+        boolean empty = true;
+        while (cell < cells)
+        {
+            final int end = cell + readVarint(data);
+            if (!empty)
+            {
+                for (int i = cell; i < end; i++)
+                {
+                    consumer.accept(x + i % width, y + i / width, readVarint(data));
+                }
+            }
+            cell = end;
+            empty = !empty;
+        }
+    }
+
+    /**
+     * Encode chunk tiles as spans.
+     * 
+     * @param output The chunk output.
+     * @param cellsNumber The chunk cells tile number buffer (must be able to store chunk cells).
+     * @param x The chunk horizontal tile location.
+     * @param y The chunk vertical tile location.
+     * @param width The chunk width in tile.
+     * @param height The chunk height in tile.
+     * @throws IOException If error on writing.
+     */
+    private void saveChunk(DataOutputStream output, int[] cellsNumber, int x, int y, int width, int height)
+            throws IOException
+    {
+        final int cells = width * height;
+        for (int i = 0; i < cells; i++)
+        {
+            final Tile tile = map.getTile(x + i % width, y + i / width);
+            cellsNumber[i] = tile == null ? EMPTY : tile.getNumber();
+        }
+
+        int cell = 0;
+        boolean empty = true;
+        while (cell < cells)
+        {
+            int end = cell;
+            while (end < cells && (cellsNumber[end] == EMPTY) == empty)
+            {
+                end++;
+            }
+            writeVarint(output, end - cell);
+            if (!empty)
+            {
+                for (int i = cell; i < end; i++)
+                {
+                    writeVarint(output, cellsNumber[i]);
+                }
+            }
+            cell = end;
+            empty = !empty;
+        }
+    }
+
+    @Override
+    public void addListener(MapTilePersisterListener listener)
+    {
+        super.addListener(listener);
+
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(MapTilePersisterListener listener)
+    {
+        super.removeListener(listener);
+
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void load(FileReading file) throws IOException
+    {
+        load(read(file));
+    }
+
+    @Override
+    public void save(FileWriting file) throws IOException
+    {
+        final int widthInTile = map.getInTileWidth();
+        final int heightInTile = map.getInTileHeight();
+        final int chunksH = (widthInTile + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final int chunksV = (heightInTile + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final int[] offsets = new int[chunksH * chunksV + 1];
+        final int[] cellsNumber = new int[CHUNK_SIZE * CHUNK_SIZE];
+
+        final ByteArrayOutputStream chunks = new ByteArrayOutputStream(BUFFER_SIZE);
+        try (DataOutputStream output = new DataOutputStream(chunks))
+        {
+            for (int cy = 0; cy < chunksV; cy++)
+            {
+                for (int cx = 0; cx < chunksH; cx++)
+                {
+                    final int x = cx * CHUNK_SIZE;
+                    final int y = cy * CHUNK_SIZE;
+                    offsets[cy * chunksH + cx] = output.size();
+                    saveChunk(output,
+                              cellsNumber,
+                              x,
+                              y,
+                              Math.min(CHUNK_SIZE, widthInTile - x),
+                              Math.min(CHUNK_SIZE, heightInTile - y));
+                }
+            }
+            offsets[offsets.length - 1] = output.size();
+        }
+
+        file.writeInteger(MAGIC_V2);
+        file.writeShort((short) VERSION_V2);
+        file.writeShort((short) map.getTileWidth());
+        file.writeShort((short) map.getTileHeight());
+        file.writeInteger(widthInTile);
+        file.writeInteger(heightInTile);
+        file.writeShort((short) CHUNK_SIZE);
+        file.writeShort((short) chunksH);
+        file.writeShort((short) chunksV);
+        for (final int offset : offsets)
+        {
+            file.writeInteger(offset);
+        }
+        file.write(chunks.toByteArray());
+    }
+
     @Override
     protected void saveTile(FileWriting file, Tile tile) throws IOException
     {
@@ -60,4 +573,19 @@ public class MapTilePersisterOptimized extends MapTilePersisterModel
 
         map.setTile(tx, ty, number);
     }
+
+    /**
+     * Receive decoded tiles.
+     */
+    interface TileConsumer
+    {
+        /**
+         * Accept decoded tile.
+         * 
+         * @param tx The horizontal tile location.
+         * @param ty The vertical tile location.
+         * @param number The tile number.
+         */
+        void accept(int tx, int ty, int number);
+    }
 }
@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.Viewer;
+import com.b3dgs.lionengine.game.feature.tile.Tile;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.MapTileCollision;
+
+/**
+ * Materialize map tiles by chunk of {@link MapTilePersisterOptimized#CHUNK_SIZE}, around a location.
+ * <p>
+ * Map data are indexed by chunk on load, without setting tiles. Chunks within radius of the view are then set on map
+ * with their collisions, and chunks out of radius are removed from map. Tiles are saved back on release, so changes
+ * done in game are kept when chunk comes back.
+ * </p>
+ * <p>
+ * Map tile listeners are notified as chunks arrive, {@link #isRestoring()} tells if a chunk is set again after a
+ * release.
+ * </p>
+ */
+final class MapTileStreamer
+{
+    /** Chunk size in tile. */
+    private static final int CHUNK = MapTilePersisterOptimized.CHUNK_SIZE;
+    /** Cell bits in packed tile. */
+    private static final int CELL_BITS = 10;
+    /** Cell mask in packed tile. */
+    private static final int CELL_MASK = (1 << CELL_BITS) - 1;
+
+    /**
+     * Pack tile number and chunk cell.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @param number The tile number.
+     * @return The packed tile.
+     */
+    private static int pack(int tx, int ty, int number)
+    {
+        return number << CELL_BITS | ty % CHUNK * CHUNK + tx % CHUNK;
+    }
+
+    /** Map reference. */
+    private final MapTile map;
+    /** Map collision reference. */
+    private final MapTileCollision mapCollision;
+    /** View reference. */
+    private final Viewer viewer;
+    /** Radius in chunk around view. */
+    private final int radius;
+
+    /** Packed tiles by chunk. */
+    private int[][] chunks;
+    /** Packed tiles count by chunk. */
+    private int[] counts;
+    /** Chunk set on map flag. */
+    private boolean[] loaded;
+    /** Chunk already set once flag. */
+    private boolean[] visited;
+    /** Horizontal chunks number. */
+    private int chunksH;
+    /** Vertical chunks number. */
+    private int chunksV;
+    /** Loaded area min horizontal chunk (area is empty if min greater than max). */
+    private int minX;
+    /** Loaded area min vertical chunk. */
+    private int minY;
+    /** Loaded area max horizontal chunk. */
+    private int maxX = -1;
+    /** Loaded area max vertical chunk. */
+    private int maxY = -1;
+    /** Restoring chunk flag. */
+    private boolean restoring;
+
+    /**
+     * Create streamer.
+     * 
+     * @param map The map reference (must not be <code>null</code>).
+     * @param viewer The view reference (must not be <code>null</code>).
+     * @param radius The radius in chunk around view (must be positive).
+     * @throws LionEngineException If invalid argument.
+     */
+    MapTileStreamer(MapTile map, Viewer viewer, int radius)
+    {
+        super();
+
+        if (radius < 0)
+        {
+            throw new LionEngineException("Invalid stream radius: " + radius);
+        }
+
+        this.map = map;
+        this.viewer = viewer;
+        this.radius = radius;
+        mapCollision = map.getFeature(MapTileCollision.class);
+    }
+
+    /**
+     * Create map and index its tiles by chunk. No tile is set until {@link #update(double, double)}.
+     * 
+     * @param data The map tiles data.
+     * @throws LionEngineException If unsupported format.
+     */
+    public void load(ByteBuffer data)
+    {
+        chunks = null;
+        map.getFeature(MapTilePersisterOptimized.class).load(data, this::index);
+        if (chunks == null)
+        {
+            init();
+        }
+    }
+
+    /**
+     * Update chunks around view centered on location.
+     * 
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     */
+    public void update(double x, double y)
+    {
+        final int tw = map.getTileWidth();
+        final int th = map.getTileHeight();
+        final double halfWidth = viewer.getWidth() / 2.0;
+        final double halfHeight = viewer.getHeight() / 2.0;
+
+        final int nMinX = UtilMath.clamp((int) Math.floor((x - halfWidth) / tw) / CHUNK - radius, 0, chunksH - 1);
+        final int nMinY = UtilMath.clamp((int) Math.floor((y - halfHeight) / th) / CHUNK - radius, 0, chunksV - 1);
+        final int nMaxX = UtilMath.clamp((int) Math.floor((x + halfWidth) / tw) / CHUNK + radius, 0, chunksH - 1);
+        final int nMaxY = UtilMath.clamp((int) Math.floor((y + halfHeight) / th) / CHUNK + radius, 0, chunksV - 1);
+
+        if (nMinX != minX || nMinY != minY || nMaxX != maxX || nMaxY != maxY)
+        {
+            for (int cy = minY; cy <= maxY; cy++)
+            {
+                for (int cx = minX; cx <= maxX; cx++)
+                {
+                    if ((cx < nMinX || cx > nMaxX || cy < nMinY || cy > nMaxY) && loaded[cy * chunksH + cx])
+                    {
+                        release(cx, cy);
+                    }
+                }
+            }
+            for (int cy = nMinY; cy <= nMaxY; cy++)
+            {
+                for (int cx = nMinX; cx <= nMaxX; cx++)
+                {
+                    if (!loaded[cy * chunksH + cx])
+                    {
+                        materialize(cx, cy);
+                    }
+                }
+            }
+            minX = nMinX;
+            minY = nMinY;
+            maxX = nMaxX;
+            maxY = nMaxY;
+        }
+    }
+
+    /**
+     * Check if a released chunk is currently set again.
+     * 
+     * @return <code>true</code> if restoring chunk, <code>false</code> if chunk is set for the first time.
+     */
+    public boolean isRestoring()
+    {
+        return restoring;
+    }
+
+    /**
+     * Initialize chunks index from map size.
+     */
+    private void init()
+    {
+        chunksH = (map.getInTileWidth() + CHUNK - 1) / CHUNK;
+        chunksV = (map.getInTileHeight() + CHUNK - 1) / CHUNK;
+        chunks = new int[chunksH * chunksV][];
+        counts = new int[chunks.length];
+        loaded = new boolean[chunks.length];
+        visited = new boolean[chunks.length];
+        Arrays.fill(chunks, new int[0]);
+        minX = 0;
+        minY = 0;
+        maxX = -1;
+        maxY = -1;
+    }
+
+    /**
+     * Index decoded tile in its chunk.
+     * 
+     * @param tx The horizontal tile location.
+     * @param ty The vertical tile location.
+     * @param number The tile number.
+     */
+    private void index(int tx, int ty, int number)
+    {
+        if (chunks == null)
+        {
+            init();
+        }
+        final int i = ty / CHUNK * chunksH + tx / CHUNK;
+        if (counts[i] == chunks[i].length)
+        {
+            chunks[i] = Arrays.copyOf(chunks[i], Math.max(CHUNK, counts[i] * 2));
+        }
+        chunks[i][counts[i]] = pack(tx, ty, number);
+        counts[i]++;
+    }
+
+    /**
+     * Set released chunk tiles on map and update their collisions.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     */
+    private void materialize(int cx, int cy)
+    {
+        final int i = cy * chunksH + cx;
+        loaded[i] = true;
+        restoring = visited[i];
+        visited[i] = true;
+
+        final int[] tiles = chunks[i];
+        final int count = counts[i];
+        final int x = cx * CHUNK;
+        final int y = cy * CHUNK;
+        for (int t = 0; t < count; t++)
+        {
+            final int cell = tiles[t] & CELL_MASK;
+            map.setTile(x + cell % CHUNK, y + cell / CHUNK, tiles[t] >>> CELL_BITS);
+        }
+        for (int t = 0; t < count; t++)
+        {
+            final int cell = tiles[t] & CELL_MASK;
+            final Tile tile = map.getTile(x + cell % CHUNK, y + cell / CHUNK);
+            if (tile != null)
+            {
+                mapCollision.updateCollisions(tile);
+            }
+        }
+        restoring = false;
+    }
+
+    /**
+     * Save loaded chunk tiles and remove them from map.
+     * 
+     * @param cx The horizontal chunk index.
+     * @param cy The vertical chunk index.
+     */
+    private void release(int cx, int cy)
+    {
+        final int i = cy * chunksH + cx;
+        loaded[i] = false;
+
+        final int x = cx * CHUNK;
+        final int y = cy * CHUNK;
+        final int width = Math.min(CHUNK, map.getInTileWidth() - x);
+        final int height = Math.min(CHUNK, map.getInTileHeight() - y);
+        counts[i] = 0;
+        for (int ty = y; ty < y + height; ty++)
+        {
+            for (int tx = x; tx < x + width; tx++)
+            {
+                final Tile tile = map.getTile(tx, ty);
+                if (tile != null)
+                {
+                    index(tx, ty, tile.getNumber());
+                    map.removeTile(tx, ty);
+                }
+            }
+        }
+        if (counts[i] < chunks[i].length / 2)
+        {
+            chunks[i] = Arrays.copyOf(chunks[i], counts[i]);
+        }
+    }
+}
@@ -16,6 +16,8 @@
  */
 package com.b3dgs.lionheart;
 
+import java.util.Optional;
+
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
@@ -29,6 +31,7 @@ import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileSurface;
 import com.b3dgs.lionengine.game.feature.tile.map.viewer.MapTileViewer;
 import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
 import com.b3dgs.lionengine.graphic.Renderable;
 import com.b3dgs.lionengine.graphic.drawable.Drawable;
 import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
@@ -38,6 +41,9 @@ import com.b3dgs.lionengine.graphic.drawable.SpriteTiled;
  */
 public class MapTileWater extends FeaturableAbstract implements Renderable
 {
+    /** Water raster name. */
+    private static final String WATER = "water";
+
     /** Top. */
     private final MapTileWater top;
     /** Camera reference. */
@@ -103,7 +109,7 @@ public class MapTileWater extends FeaturableAbstract implements Renderable
     }
 
     /**
-     * Create water map.
+     * Create water map, from raster atlas if available.
      * 
      * @param folder The raster folder.
      */
@@ -112,11 +118,25 @@ public class MapTileWater extends FeaturableAbstract implements Renderable
         final int tw = map.getTileWidth();
         final int th = map.getTileHeight();
         tiles = new SpriteTiled[th];
-        for (int i = 0; i < tiles.length; i++)
+
+        final Optional<RasterAtlas> atlas = RasterAtlas.get(folder).filter(a -> a.has(WATER));
+        if (atlas.isPresent())
+        {
+            final ImageBuffer[] frames = atlas.get().getFrames(WATER);
+            for (int i = 0; i < tiles.length; i++)
+            {
+                tiles[i] = Drawable.loadSpriteTiled(frames[i], tw, th);
+                tiles[i].prepare();
+            }
+        }
+        else
         {
-            tiles[i] = Drawable.loadSpriteTiled(Medias.create(folder, "water", i + ".png"), tw, th);
-            tiles[i].load();
-            tiles[i].prepare();
+            for (int i = 0; i < tiles.length; i++)
+            {
+                tiles[i] = Drawable.loadSpriteTiled(Medias.create(folder, WATER, i + ".png"), tw, th);
+                tiles[i].load();
+                tiles[i].prepare();
+            }
         }
     }
 
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionheart.constant.Extension;
+import com.b3dgs.lionheart.constant.Folder;
+
+/**
+ * Pre-rendered musics, played instead of sc68 emulation when enabled (see {@link Settings#getMusicCache()}).
+ * <p>
+ * Tracks are rendered once to PCM waves compressed with gzip, in the music cache folder (see
+ * <code>MusicRenderer</code>). Tracks without rendering keep their original format.
+ * </p>
+ */
+public final class MusicCache
+{
+    /** Cache folder, in music folder. */
+    public static final String FOLDER = "cache";
+    /** Compressed extension. */
+    private static final String EXTENSION_COMPRESSED = ".gz";
+
+    /**
+     * Get pre-rendered track if enabled and available.
+     * 
+     * @param track The original track.
+     * @return The pre-rendered track, empty if disabled or not rendered.
+     */
+    public static Optional<Media> get(Media track)
+    {
+        if (Settings.getInstance().getMusicCache())
+        {
+            final Media cached = getCached(track);
+            if (cached.exists())
+            {
+                return Optional.of(new CachedMedia(cached));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get the pre-rendered track file.
+     * 
+     * @param track The original track.
+     * @return The pre-rendered track file.
+     */
+    public static Media getCached(Media track)
+    {
+        final String name = track.getName().replace(Extension.MUSIC, Extension.MUSIC_RENDERED);
+        return Medias.create(Folder.MUSIC, FOLDER, name);
+    }
+
+    /**
+     * Private constructor.
+     */
+    private MusicCache()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * Pre-rendered track, read as a wave from its compressed file.
+     */
+    private static final class CachedMedia implements Media
+    {
+        /** Compressed file. */
+        private final Media file;
+        /** Wave path. */
+        private final String path;
+
+        /**
+         * Create media.
+         * 
+         * @param file The compressed file.
+         */
+        CachedMedia(Media file)
+        {
+            super();
+
+            this.file = file;
+            path = file.getPath().substring(0, file.getPath().length() - EXTENSION_COMPRESSED.length());
+        }
+
+        @Override
+        public String getPath()
+        {
+            return path;
+        }
+
+        @Override
+        public String getParentPath()
+        {
+            return file.getParentPath();
+        }
+
+        @Override
+        public File getFile()
+        {
+            return file.getFile();
+        }
+
+        @Override
+        public URL getUrl()
+        {
+            return file.getUrl();
+        }
+
+        @Override
+        public Collection<Media> getMedias()
+        {
+            return file.getMedias();
+        }
+
+        @Override
+        public InputStream getInputStream()
+        {
+            try
+            {
+                return new BufferedInputStream(new GZIPInputStream(file.getInputStream()));
+            }
+            catch (final IOException exception)
+            {
+                throw new LionEngineException(exception);
+            }
+        }
+
+        @Override
+        public OutputStream getOutputStream()
+        {
+            return file.getOutputStream();
+        }
+
+        @Override
+        public boolean exists()
+        {
+            return file.exists();
+        }
+
+        @Override
+        public String getName()
+        {
+            return file.getName().substring(0, file.getName().length() - EXTENSION_COMPRESSED.length());
+        }
+    }
+}
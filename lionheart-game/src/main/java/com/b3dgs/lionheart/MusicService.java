@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.audio.Audio;
+import com.b3dgs.lionengine.audio.AudioFactory;
+
+/**
+ * Music service, playing one track at a time and keeping prepared tracks for next plays.
+ * <p>
+ * Tracks are loaded and switched on a dedicated thread shared by all sequences, so callers never wait on music. Only
+ * the last requested play or stop is performed, and it is performed before pending prefetches. Prepared tracks are
+ * kept in a bounded cache, the least recently used being evicted first and stopped to release its playback, unless it
+ * is the current track. Pre-rendered tracks are used when available (see {@link MusicCache}).
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public final class MusicService implements MusicPlayer
+{
+    /** Maximum prepared tracks. */
+    private static final int CACHE_SIZE = 4;
+    /** Single instance. */
+    private static final MusicService INSTANCE = new MusicService();
+
+    /**
+     * Get music service.
+     * 
+     * @return The music service.
+     */
+    public static MusicService getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Load track, from its pre-rendered version if enabled and available, original track as fallback.
+     * 
+     * @param media The track file.
+     * @return The loaded track.
+     * @throws LionEngineException If unable to load track.
+     */
+    private static Audio load(Media media)
+    {
+        final Optional<Media> cached = MusicCache.get(media);
+        if (cached.isPresent())
+        {
+            try
+            {
+                return AudioFactory.loadAudio(cached.get());
+            }
+            catch (final LionEngineException exception)
+            {
+                Verbose.exception(exception);
+            }
+        }
+        return AudioFactory.loadAudio(media);
+    }
+
+    /** Prepared tracks by path, in access order (only accessed by music thread). */
+    private final Map<String, Audio> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75F, true);
+    /** Pending tasks. */
+    private final BlockingDeque<Runnable> tasks = new LinkedBlockingDeque<>();
+    /** Last play or stop request. */
+    private final AtomicInteger request = new AtomicInteger();
+    /** Current track (only accessed by music thread). */
+    private Audio current;
+
+    /**
+     * Create service.
+     */
+    private MusicService()
+    {
+        super();
+
+        final Thread thread = new Thread(this::run, MusicService.class.getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Prepare tracks in background, for next plays.
+     * 
+     * @param medias The tracks to prepare.
+     */
+    public void prefetch(Media... medias)
+    {
+        for (final Media media : medias)
+        {
+            tasks.offer(() -> get(media));
+        }
+    }
+
+    /**
+     * Execute tasks until interrupted.
+     */
+    private void run()
+    {
+        while (!Thread.currentThread().isInterrupted())
+        {
+            try
+            {
+                tasks.take().run();
+            }
+            catch (@SuppressWarnings("unused") final InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (final LionEngineException exception)
+            {
+                Verbose.exception(exception);
+            }
+        }
+    }
+
+    /**
+     * Get prepared track, prepare it if not in cache.
+     * 
+     * @param media The track file.
+     * @return The prepared track.
+     */
+    private Audio get(Media media)
+    {
+        Audio audio = cache.get(media.getPath());
+        if (audio == null)
+        {
+            audio = load(media);
+            cache.put(media.getPath(), audio);
+            if (cache.size() > CACHE_SIZE)
+            {
+                final Audio evicted = cache.remove(cache.keySet().iterator().next());
+                if (evicted != current)
+                {
+                    evicted.stop();
+                }
+            }
+        }
+        return audio;
+    }
+
+    /**
+     * Stop current track if any.
+     */
+    private void stopCurrent()
+    {
+        if (current != null)
+        {
+            current.stop();
+            current = null;
+        }
+    }
+
+    /**
+     * Queue play or stop request, before pending prefetches. Request is skipped if another one is queued after.
+     * 
+     * @param task The request task.
+     */
+    private void request(Runnable task)
+    {
+        final int id = request.incrementAndGet();
+        tasks.offerFirst(() ->
+        {
+            if (id == request.get())
+            {
+                task.run();
+            }
+        });
+    }
+
+    @Override
+    public void playMusic(Media media)
+    {
+        request(() ->
+        {
+            stopCurrent();
+
+            final Settings settings = Settings.getInstance();
+            if (settings.getVolumeMaster() > 0)
+            {
+                current = get(media);
+                current.setVolume(settings.getVolumeMusic());
+                current.play();
+            }
+        });
+    }
+
+    @Override
+    public void stopMusic()
+    {
+        request(this::stopCurrent);
+    }
+}
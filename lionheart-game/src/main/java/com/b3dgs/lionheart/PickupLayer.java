@@ -0,0 +1,345 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Updatable;
+import com.b3dgs.lionengine.Viewer;
+import com.b3dgs.lionengine.game.AnimationConfig;
+import com.b3dgs.lionengine.game.Configurer;
+import com.b3dgs.lionengine.game.FramesConfig;
+import com.b3dgs.lionengine.game.SurfaceConfig;
+import com.b3dgs.lionengine.game.feature.DisplayableModel;
+import com.b3dgs.lionengine.game.feature.FeaturableAbstract;
+import com.b3dgs.lionengine.game.feature.Spawner;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.collidable.Collision;
+import com.b3dgs.lionengine.game.feature.collidable.CollisionConfig;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
+import com.b3dgs.lionengine.geom.Rectangle;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Renderable;
+import com.b3dgs.lionengine.graphic.drawable.Drawable;
+import com.b3dgs.lionengine.graphic.drawable.SpriteAnimated;
+import com.b3dgs.lionheart.constant.Anim;
+import com.b3dgs.lionheart.constant.CollisionName;
+import com.b3dgs.lionheart.object.feature.Stats;
+import com.b3dgs.lionheart.object.feature.TakeableConfig;
+
+/**
+ * Pickups layer, storing collectibles (talisment, life, potions...) as plain data instead of entities.
+ * <p>
+ * Pickups of a same type share their animated sprite, rendered once per visible pickup. Pickups are static, so they
+ * are indexed in a {@link CollisionGrid} of map tiles, and only the cells under player current body collisions are
+ * checked for taking, as a takeable entity is taken by player {@link CollisionName#BODY} collisions of current
+ * animation frame. Taking applies the {@link TakeableConfig} to player {@link Stats}, plays its sfx and spawns its
+ * effect, as a takeable entity.
+ * </p>
+ */
+final class PickupLayer extends FeaturableAbstract implements Updatable, Renderable
+{
+    /** Pickups group in grid. */
+    private static final int GROUP = Constant.COLL_GROUP_BACKGROUND.intValue();
+    /** Default capacity. */
+    private static final int CAPACITY = 64;
+
+    /**
+     * Check if entity can be a pickup: a takeable which is not the amulet, as amulet ends stage.
+     * 
+     * @param definition The entity definition.
+     * @return <code>true</code> if pickup, <code>false</code> else.
+     */
+    static boolean isPickup(EntityDefinition definition)
+    {
+        return definition.getTakeable().filter(takeable -> !takeable.isAmulet()).isPresent();
+    }
+
+    /** Pickup types. */
+    private final List<Type> types = new ArrayList<>();
+    /** Pickup types index by entity media. */
+    private final Map<Media, Integer> typesIndex = new HashMap<>();
+    /** Taking check on grid candidates. */
+    private final IntConsumer taker = this::take;
+    /** Rendering on grid candidates. */
+    private final IntConsumer renderer = this::render;
+    /** Pickups grid. */
+    private final CollisionGrid grid;
+    /** Map reference. */
+    private final MapTile map;
+    /** Camera reference. */
+    private final Viewer viewer;
+    /** Spawner reference. */
+    private final Spawner spawner;
+    /** Largest pickup size, to extend grid queries. */
+    private int margin;
+    /** Pickups horizontal location. */
+    private double[] x = new double[CAPACITY];
+    /** Pickups vertical location. */
+    private double[] y = new double[CAPACITY];
+    /** Pickups type index. */
+    private int[] type = new int[CAPACITY];
+    /** Pickups alive flag. */
+    private boolean[] alive = new boolean[CAPACITY];
+    /** Pickups count. */
+    private int count;
+    /** Player reference. */
+    private Transformable player;
+    /** Player collidable. */
+    private Collidable collidable;
+    /** Player stats. */
+    private Stats stats;
+    /** Player body box left. */
+    private double left;
+    /** Player body box right. */
+    private double right;
+    /** Player body box bottom. */
+    private double bottom;
+    /** Player body box top. */
+    private double top;
+    /** Current rendering output. */
+    private Graphic output;
+
+    /**
+     * Create layer.
+     * 
+     * @param map The map reference.
+     * @param viewer The camera reference.
+     * @param spawner The spawner reference.
+     */
+    PickupLayer(MapTile map, Viewer viewer, Spawner spawner)
+    {
+        super();
+
+        this.map = map;
+        this.viewer = viewer;
+        this.spawner = spawner;
+        grid = new CollisionGrid(map.getTileWidth(), map.getTileHeight(), map.getWidth(), map.getHeight());
+
+        addFeature(new DisplayableModel(this::render));
+    }
+
+    /**
+     * Set player taking pickups.
+     * 
+     * @param player The player reference.
+     */
+    void setPlayer(Transformable player)
+    {
+        this.player = player;
+        collidable = player.getFeature(Collidable.class);
+        stats = player.getFeature(Stats.class);
+    }
+
+    /**
+     * Add pickup.
+     * 
+     * @param entity The pickup entity configuration.
+     */
+    void add(EntityConfig entity)
+    {
+        final EntityDefinition definition = entity.getDefinition();
+        final Integer index = typesIndex.computeIfAbsent(definition.getMedia(), media ->
+        {
+            final Type current = new Type(definition);
+            margin = Math.max(margin, Math.max(current.width, current.height) + current.getOffset());
+            types.add(current);
+            return Integer.valueOf(types.size() - 1);
+        });
+
+        if (count == x.length)
+        {
+            x = Arrays.copyOf(x, count * 2);
+            y = Arrays.copyOf(y, count * 2);
+            type = Arrays.copyOf(type, count * 2);
+            alive = Arrays.copyOf(alive, count * 2);
+        }
+        x[count] = entity.getSpawnX(map);
+        y[count] = entity.getSpawnY(map);
+        type[count] = index.intValue();
+        alive[count] = true;
+        grid.add(count, GROUP, x[count], y[count]);
+        count++;
+    }
+
+    /**
+     * Take pickups under player body collisions of current frame, from grid candidates around each body box, extended
+     * as pickups box may overlap cells. Collisions bounds are in collisions order.
+     */
+    private void take()
+    {
+        final List<Collision> collisions = collidable.getCollisions();
+        final List<Rectangle> bounds = collidable.getCollisionBounds();
+        final int n = Math.min(collisions.size(), bounds.size());
+        for (int i = 0; i < n; i++)
+        {
+            if (collisions.get(i).getName().startsWith(CollisionName.BODY))
+            {
+                final Rectangle body = bounds.get(i);
+                left = body.getMinX();
+                right = body.getMaxX();
+                bottom = body.getMinY();
+                top = body.getMaxY();
+
+                grid.query(GROUP, left - margin, bottom - margin, right + margin, top + margin, taker);
+            }
+        }
+    }
+
+    /**
+     * Take pickup if colliding player body box.
+     * 
+     * @param i The pickup index.
+     */
+    private void take(int i)
+    {
+        final Type current = types.get(type[i]);
+        final double px = x[i] + current.offsetX;
+        final double py = y[i] + current.offsetY;
+        if (alive[i]
+            && px + current.width / 2.0 >= left
+            && px - current.width / 2.0 <= right
+            && py + current.height >= bottom
+            && py <= top)
+        {
+            alive[i] = false;
+            grid.remove(i);
+            current.config.getSfx().play();
+            stats.apply(current.config);
+            spawner.spawn(current.config.getEffect(), x[i], y[i]);
+        }
+    }
+
+    /**
+     * Render pickup.
+     * 
+     * @param i The pickup index.
+     */
+    private void render(int i)
+    {
+        if (alive[i])
+        {
+            final SpriteAnimated sprite = types.get(type[i]).sprite;
+            sprite.setLocation(viewer.getViewpointX(x[i]), viewer.getViewpointY(y[i]));
+            sprite.render(output);
+        }
+    }
+
+    @Override
+    public void update(double extrp)
+    {
+        final int n = types.size();
+        for (int i = 0; i < n; i++)
+        {
+            types.get(i).sprite.update(extrp);
+        }
+        if (player != null && collidable.isEnabled())
+        {
+            take();
+        }
+    }
+
+    @Override
+    public void render(Graphic g)
+    {
+        output = g;
+        grid.query(GROUP,
+                   viewer.getX() - margin,
+                   viewer.getY() - margin,
+                   viewer.getX() + viewer.getWidth() + margin,
+                   viewer.getY() + viewer.getHeight() + margin,
+                   renderer);
+    }
+
+    /**
+     * Pickup type, shared by all pickups of same entity.
+     */
+    private static final class Type
+    {
+        /** Takeable configuration. */
+        private final TakeableConfig config;
+        /** Shared animated sprite. */
+        private final SpriteAnimated sprite;
+        /** Take box horizontal offset. */
+        private final int offsetX;
+        /** Take box vertical offset. */
+        private final int offsetY;
+        /** Take box width. */
+        private final int width;
+        /** Take box height. */
+        private final int height;
+
+        /**
+         * Create type.
+         * 
+         * @param definition The entity definition.
+         */
+        Type(EntityDefinition definition)
+        {
+            super();
+
+            final Media media = definition.getMedia();
+            final Configurer configurer = new Configurer(media);
+            config = definition.getTakeable().get();
+
+            final FramesConfig frames = FramesConfig.imports(configurer);
+            final String image = SurfaceConfig.imports(configurer).getImage();
+            sprite = Drawable.loadSpriteAnimated(Medias.create(media.getParentPath(), image),
+                                                 frames.getHorizontal(),
+                                                 frames.getVertical());
+            sprite.load();
+            sprite.prepare();
+            sprite.setOrigin(definition.getOrigin());
+            sprite.play(AnimationConfig.imports(configurer).getAnimation(Anim.IDLE));
+
+            final List<Collision> collisions = CollisionConfig.imports(configurer).getCollisions();
+            if (collisions.isEmpty())
+            {
+                offsetX = 0;
+                offsetY = 0;
+                width = definition.getSize().getWidth();
+                height = definition.getSize().getHeight();
+            }
+            else
+            {
+                final Collision collision = collisions.get(0);
+                offsetX = collision.getOffsetX();
+                offsetY = collision.getOffsetY();
+                width = collision.getWidth();
+                height = collision.getHeight();
+            }
+        }
+
+        /**
+         * Get largest take box offset from pickup location.
+         * 
+         * @return The largest offset.
+         */
+        int getOffset()
+        {
+            return Math.max(Math.abs(offsetX), Math.abs(offsetY));
+        }
+    }
+}
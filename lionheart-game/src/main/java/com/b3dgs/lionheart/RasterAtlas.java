@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+
+/**
+ * Raster frames of a world theme packed in a single image, with an index of frames location.
+ * <p>
+ * Only the last used atlas is kept in memory. This class is Thread-Safe.
+ * </p>
+ */
+public final class RasterAtlas
+{
+    /** Atlas image file. */
+    static final String FILE_IMAGE = "atlas.png";
+    /** Atlas index file. */
+    static final String FILE_INDEX = "atlas.idx";
+    /** Index magic. */
+    private static final int MAGIC = 0x4C485241;
+    /** Index version. */
+    private static final int VERSION = 1;
+    /** Cache lock. */
+    private static final Object LOCK = new Object();
+    /** Last used atlas. */
+    private static RasterAtlas current;
+
+    /**
+     * Get the atlas of raster folder, load it if not the last used one.
+     * 
+     * @param folder The raster folder.
+     * @return The atlas, empty if folder has no atlas.
+     * @throws LionEngineException If unable to read atlas.
+     */
+    public static Optional<RasterAtlas> get(String folder)
+    {
+        final Media index = Medias.create(folder, FILE_INDEX);
+        synchronized (LOCK)
+        {
+            if (current == null || !current.path.equals(index.getPath()))
+            {
+                if (!index.exists())
+                {
+                    return Optional.empty();
+                }
+                current = new RasterAtlas(index, Medias.create(folder, FILE_IMAGE));
+            }
+            return Optional.of(current);
+        }
+    }
+
+    /**
+     * Write atlas index.
+     * 
+     * @param output The index output.
+     * @param entries The atlas entries.
+     * @throws IOException If error on writing.
+     */
+    static void write(OutputStream output, Collection<Entry> entries) throws IOException
+    {
+        final DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(entries.size());
+        for (final Entry entry : entries)
+        {
+            data.writeUTF(entry.name);
+            data.writeShort(entry.frames);
+            data.writeShort(entry.width);
+            data.writeShort(entry.height);
+            data.writeShort(entry.columns);
+            data.writeInt(entry.y);
+        }
+        data.flush();
+    }
+
+    /** Entries by name. */
+    private final Map<String, Entry> entries = new HashMap<>();
+    /** Index path. */
+    private final String path;
+    /** Atlas image. */
+    private final ImageBuffer image;
+
+    /**
+     * Load atlas.
+     * 
+     * @param index The atlas index.
+     * @param image The atlas image.
+     * @throws LionEngineException If unable to read atlas.
+     */
+    private RasterAtlas(Media index, Media image)
+    {
+        super();
+
+        path = index.getPath();
+
+        try (InputStream input = index.getInputStream();
+             DataInputStream data = new DataInputStream(new BufferedInputStream(input)))
+        {
+            if (data.readInt() != MAGIC)
+            {
+                throw new IOException("Invalid raster atlas: " + path);
+            }
+            final int version = data.readShort();
+            if (version != VERSION)
+            {
+                throw new IOException("Unsupported raster atlas version: " + version);
+            }
+            final int n = data.readShort();
+            for (int i = 0; i < n; i++)
+            {
+                final Entry entry = new Entry(data.readUTF(),
+                                              data.readShort(),
+                                              data.readShort(),
+                                              data.readShort(),
+                                              data.readShort(),
+                                              data.readInt());
+                entries.put(entry.name, entry);
+            }
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+
+        LoadProbe.countFile();
+
+        this.image = Graphics.getImageBuffer(image);
+        LoadProbe.countFile();
+    }
+
+    /**
+     * Check if atlas contains raster.
+     * 
+     * @param name The raster name.
+     * @return <code>true</code> if contained, <code>false</code> else.
+     */
+    public boolean has(String name)
+    {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Get raster frames, sliced from atlas.
+     * 
+     * @param name The raster name.
+     * @return The raster frames.
+     * @throws LionEngineException If raster not found.
+     */
+    public ImageBuffer[] getFrames(String name)
+    {
+        final Entry entry = entries.get(name);
+        if (entry == null)
+        {
+            throw new LionEngineException("Raster not found in atlas: " + name);
+        }
+
+        final ImageBuffer[] frames = new ImageBuffer[entry.frames];
+        for (int i = 0; i < frames.length; i++)
+        {
+            final ImageBuffer frame = Graphics.createImageBuffer(entry.width, entry.height);
+            frame.prepare();
+
+            final Graphic g = frame.createGraphic();
+            g.drawImage(image, -entry.getX(i), -entry.getY(i));
+            g.dispose();
+
+            frames[i] = frame;
+        }
+        return frames;
+    }
+
+    /**
+     * Raster location in atlas. Frames are stored row by row, from entry vertical location.
+     */
+    static final class Entry
+    {
+        /** Raster name. */
+        private final String name;
+        /** Frames number. */
+        private final int frames;
+        /** Frame width. */
+        private final int width;
+        /** Frame height. */
+        private final int height;
+        /** Frames per row. */
+        private final int columns;
+        /** Vertical location in atlas. */
+        private final int y;
+
+        /**
+         * Create entry.
+         * 
+         * @param name The raster name.
+         * @param frames The frames number.
+         * @param width The frame width.
+         * @param height The frame height.
+         * @param columns The frames per row.
+         * @param y The vertical location in atlas.
+         */
+        Entry(String name, int frames, int width, int height, int columns, int y)
+        {
+            super();
+
+            this.name = name;
+            this.frames = frames;
+            this.width = width;
+            this.height = height;
+            this.columns = columns;
+            this.y = y;
+        }
+
+        /**
+         * Get frame horizontal location in atlas.
+         * 
+         * @param frame The frame index.
+         * @return The horizontal location.
+         */
+        int getX(int frame)
+        {
+            return frame % columns * width;
+        }
+
+        /**
+         * Get frame vertical location in atlas.
+         * 
+         * @param frame The frame index.
+         * @return The vertical location.
+         */
+        int getY(int frame)
+        {
+            return y + frame / columns * height;
+        }
+
+        /**
+         * Get entry height in atlas.
+         * 
+         * @return The entry height.
+         */
+        int getRowsHeight()
+        {
+            return (frames + columns - 1) / columns * height;
+        }
+
+        /**
+         * Get entry width in atlas.
+         * 
+         * @return The entry width.
+         */
+        int getRowsWidth()
+        {
+            return Math.min(frames, columns) * width;
+        }
+    }
+}
@@ -20,7 +20,6 @@ import com.b3dgs.lionengine.Context;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.UtilMath;
-import com.b3dgs.lionengine.game.Configurer;
 import com.b3dgs.lionengine.game.feature.SequenceGame;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.engine.Zooming;
@@ -50,7 +49,7 @@ public final class Scene extends SequenceGame<World>
 
         this.stage = stage;
         this.init = init;
-        music = StageConfig.imports(new Configurer(stage)).getMusic();
+        music = StageConfig.imports(stage).getMusic();
         services.add(init.getDifficulty());
 
         setSystemCursorVisible(false);
@@ -73,7 +72,6 @@ public final class Scene extends SequenceGame<World>
 
         services.get(DeviceController.class).setVisible(true);
 
-        Sfx.cacheEnd();
         world.playMusic(music);
     }
 
@@ -99,5 +97,6 @@ public final class Scene extends SequenceGame<World>
         super.onTerminated(hasNextSequence);
 
         world.stopMusic();
+        world.savePool();
     }
 }
@@ -19,7 +19,6 @@ package com.b3dgs.lionheart;
 import com.b3dgs.lionengine.Context;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
-import com.b3dgs.lionengine.game.Configurer;
 import com.b3dgs.lionengine.graphic.Graphic;
 import com.b3dgs.lionengine.graphic.engine.Sequence;
 
@@ -58,7 +57,9 @@ public final class SceneBlack extends Sequence
     @Override
     public void update(double extrp)
     {
-        final StageConfig config = StageConfig.imports(new Configurer(stage));
+        StagePreload.start(stage);
+
+        final StageConfig config = StageConfig.imports(stage);
         if (config.getPic().isPresent() && !init.getSpawn().isPresent())
         {
             end(ScenePicture.class, stage, init, config.getPic().get(), config.getText().get());
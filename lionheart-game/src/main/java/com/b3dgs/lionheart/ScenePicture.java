@@ -89,7 +89,11 @@ public final class ScenePicture extends Sequence
         this.stage = stage;
         this.init = init;
 
-        if (!stage.exists())
+        if (stage.exists())
+        {
+            StagePreload.start(stage);
+        }
+        else
         {
             speed = 255;
         }
@@ -53,6 +53,16 @@ public class Settings
     /** Volume sfx. */
     public static final String VOLUME_SFX = VOLUME + ".sfx";
 
+    /** Music key. */
+    public static final String MUSIC = "music";
+    /** Music cache key. */
+    public static final String MUSIC_CACHE = MUSIC + ".cache";
+
+    /** Sfx key. */
+    public static final String SFX = "sfx";
+    /** Sfx bank budget key (in kilo byte). */
+    public static final String SFX_BUDGET = SFX + ".budget";
+
     /** Raster key. */
     public static final String RASTER = "raster";
     /** Raster map key. */
@@ -71,6 +81,40 @@ public class Settings
     /** Hud visible key. */
     public static final String HUD_VISIBLE = HUD + ".visible";
 
+    /** Map key. */
+    public static final String MAP = "map";
+    /** Map stream key. */
+    public static final String MAP_STREAM = MAP + ".stream";
+    /** Map stream radius key (in chunk). */
+    public static final String MAP_STREAM_RADIUS = MAP_STREAM + ".radius";
+
+    /** Entity key. */
+    public static final String ENTITY = "entity";
+    /** Entity lazy spawn key. */
+    public static final String ENTITY_LAZY = ENTITY + ".lazy";
+    /** Entity spawn margin key (in tile). */
+    public static final String ENTITY_MARGIN = ENTITY + ".margin";
+    /** Entity despawn key. */
+    public static final String ENTITY_DESPAWN = ENTITY + ".despawn";
+    /** Entity pickup key. */
+    public static final String ENTITY_PICKUP = ENTITY + ".pickup";
+    /** Entity activation sector key (in tile). */
+    public static final String ENTITY_SECTOR = ENTITY + ".sector";
+    /** Entity collision grid key. */
+    public static final String ENTITY_GRID = ENTITY + ".grid";
+
+    /** Simulation key. */
+    public static final String SIMULATION = "simulation";
+    /** Simulation fixed step key. */
+    public static final String SIMULATION_FIXED = SIMULATION + ".fixed";
+    /** Simulation catch up key (in step). */
+    public static final String SIMULATION_CATCHUP = SIMULATION + ".catchup";
+
+    /** Profile key. */
+    public static final String PROFILE = "profile";
+    /** Profile load key. */
+    public static final String PROFILE_LOAD = PROFILE + ".load";
+
     /** Background key. */
     public static final String BACKGROUND = "background";
     /** Background flicker key. */
@@ -220,6 +264,26 @@ public class Settings
         return (int) (getVolumeMaster() / 100.0 * getInt(VOLUME_SFX, com.b3dgs.lionengine.Constant.HUNDRED));
     }
 
+    /**
+     * Get music cache flag.
+     * 
+     * @return The music cache flag.
+     */
+    public boolean getMusicCache()
+    {
+        return getBoolean(MUSIC_CACHE, false);
+    }
+
+    /**
+     * Get sfx bank budget value.
+     * 
+     * @return The sfx bank budget value (in kilo byte).
+     */
+    public int getSfxBudget()
+    {
+        return getInt(SFX_BUDGET, 2048);
+    }
+
     /**
      * Get raster flag.
      * 
@@ -290,6 +354,116 @@ public class Settings
         return getBoolean(HUD_VISIBLE, true);
     }
 
+    /**
+     * Get map stream flag.
+     * 
+     * @return The map stream flag.
+     */
+    public boolean getMapStream()
+    {
+        return getBoolean(MAP_STREAM, false);
+    }
+
+    /**
+     * Get map stream radius value.
+     * 
+     * @return The map stream radius value (in chunk).
+     */
+    public int getMapStreamRadius()
+    {
+        return getInt(MAP_STREAM_RADIUS, 1);
+    }
+
+    /**
+     * Get entity lazy spawn flag.
+     * 
+     * @return The entity lazy spawn flag.
+     */
+    public boolean getEntityLazy()
+    {
+        return getBoolean(ENTITY_LAZY, true);
+    }
+
+    /**
+     * Get entity spawn margin value.
+     * 
+     * @return The entity spawn margin value (in tile).
+     */
+    public int getEntityMargin()
+    {
+        return getInt(ENTITY_MARGIN, 8);
+    }
+
+    /**
+     * Get entity despawn flag.
+     * 
+     * @return The entity despawn flag.
+     */
+    public boolean getEntityDespawn()
+    {
+        return getBoolean(ENTITY_DESPAWN, false);
+    }
+
+    /**
+     * Get entity pickup flag.
+     * 
+     * @return The entity pickup flag.
+     */
+    public boolean getEntityPickup()
+    {
+        return getBoolean(ENTITY_PICKUP, true);
+    }
+
+    /**
+     * Get entity activation sector value.
+     * 
+     * @return The entity activation sector value (in tile, 0 to check each entity view).
+     */
+    public int getEntitySector()
+    {
+        return getInt(ENTITY_SECTOR, 16);
+    }
+
+    /**
+     * Get entity collision grid flag.
+     * 
+     * @return The entity collision grid flag.
+     */
+    public boolean getEntityGrid()
+    {
+        return getBoolean(ENTITY_GRID, false);
+    }
+
+    /**
+     * Get simulation fixed step flag.
+     * 
+     * @return The simulation fixed step flag.
+     */
+    public boolean getSimulationFixed()
+    {
+        return getBoolean(SIMULATION_FIXED, false);
+    }
+
+    /**
+     * Get simulation catch up value.
+     * 
+     * @return The simulation maximum steps per frame.
+     */
+    public int getSimulationCatchUp()
+    {
+        return getInt(SIMULATION_CATCHUP, 4);
+    }
+
+    /**
+     * Get stage load profiling flag.
+     * 
+     * @return The stage load profiling flag.
+     */
+    public boolean getProfileLoad()
+    {
+        return getBoolean(PROFILE_LOAD, false);
+    }
+
     /**
      * Get background flicker value.
      * 
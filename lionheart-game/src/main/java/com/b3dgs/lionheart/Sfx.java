@@ -21,14 +21,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.TimeUnit;
 
 import com.b3dgs.lionengine.Media;
 import com.b3dgs.lionengine.Medias;
 import com.b3dgs.lionengine.UtilRandom;
-import com.b3dgs.lionengine.Verbose;
 import com.b3dgs.lionengine.audio.Audio;
 import com.b3dgs.lionengine.audio.AudioFactory;
 import com.b3dgs.lionheart.constant.Extension;
@@ -137,8 +133,6 @@ public enum Sfx
     /** Boss flyer. */
     BOSS_NORKA_HURT;
 
-    private static final int TIMEOUT_SEC = 30;
-    private static final int MAX_PARALLEL_CACHE = 3;
     private static final List<Sfx> AUDIO = new ArrayList<>(Arrays.asList(VALDYN_HURT,
                                                                          VALDYN_DIE,
                                                                          VALDYN_SWORD,
@@ -175,101 +169,24 @@ public enum Sfx
                                                                          PROJECTILE_BULLET2,
                                                                          BOSS2));
 
-    private static final CountDownLatch LATCH = new CountDownLatch(1);
-    private static final List<Sfx> TO_CACHE = new ArrayList<>();
-
-    /**
-     * Cache sfx start.
-     * 
-     * @param sfxs The sfx to cache.
-     */
-    public static void cacheStart(Sfx... sfxs)
-    {
-        if (TO_CACHE.isEmpty())
-        {
-            TO_CACHE.addAll(AUDIO);
-            TO_CACHE.addAll(Arrays.asList(sfxs));
-            final Collection<Sfx> list = new ArrayList<>(TO_CACHE);
-            new Thread(() ->
-            {
-                if (Settings.getInstance().getVolumeSfx() > 0)
-                {
-                    int i = 0;
-                    for (final Sfx sfx : list)
-                    {
-                        if (!sfx.cached)
-                        {
-                            sfx.audio.setVolume(0);
-                            try
-                            {
-                                sfx.play();
-                                i++;
-                                if (i > MAX_PARALLEL_CACHE)
-                                {
-                                    i = 0;
-                                    sfx.audio.await();
-                                }
-                            }
-                            catch (@SuppressWarnings("unused") final RejectedExecutionException exception)
-                            {
-                                // Skip
-                            }
-                        }
-                    }
-                }
-                list.clear();
-                LATCH.countDown();
-            }, Sfx.class.getSimpleName()).start();
-        }
-    }
-
     /**
-     * Cache sfx end.
+     * Load common sfx in bank, in background.
      */
-    public static void cacheEnd()
+    public static void loadCommon()
     {
-        if (!TO_CACHE.isEmpty())
-        {
-            try
-            {
-                LATCH.await(TIMEOUT_SEC, TimeUnit.SECONDS);
-
-                final int volume = Settings.getInstance().getVolumeSfx();
-                if (!TO_CACHE.isEmpty() && volume > 0)
-                {
-                    for (final Sfx sfx : TO_CACHE)
-                    {
-                        try
-                        {
-                            sfx.audio.await();
-                        }
-                        catch (@SuppressWarnings("unused") final RejectedExecutionException exception)
-                        {
-                            // Skip
-                        }
-                        sfx.audio.setVolume(volume);
-                    }
-                    TO_CACHE.clear();
-                }
-            }
-            catch (final InterruptedException exception)
-            {
-                Verbose.exception(exception);
-            }
-        }
+        final Collection<Sfx> list = new ArrayList<>(AUDIO);
+        list.add(MENU_SELECT);
+        SfxBank.load(list);
     }
 
     /**
-     * Cache sfx.
+     * Load sfx in bank, in background.
      * 
-     * @param sfx The sfx reference.
+     * @param sfxs The sfx to load.
      */
-    public static void cache(Sfx sfx)
+    public static void load(Sfx... sfxs)
     {
-        sfx.audio.setVolume(0);
-        sfx.play();
-        sfx.audio.await();
-        sfx.audio.setVolume(Settings.getInstance().getVolumeSfx());
+        SfxBank.load(Arrays.asList(sfxs));
     }
 
     /**
@@ -292,18 +209,27 @@ public enum Sfx
         }
     }
 
-    /** Audio handler. */
-    private final Audio audio;
-    /** Cached flag. */
-    private boolean cached;
+    /** Sfx file. */
+    private final Media media = Medias.create(Folder.SFX, name().toLowerCase(Locale.ENGLISH) + Extension.SFX);
+    /** Audio handler, read from bank. */
+    private final Audio audio = AudioFactory.loadAudio(SfxBank.getMedia(this, media));
 
     /**
      * Create Sfx.
      */
     Sfx()
     {
-        final Media media = Medias.create(Folder.SFX, name().toLowerCase(Locale.ENGLISH) + Extension.SFX);
-        audio = AudioFactory.loadAudio(media);
+        audio.setVolume(Settings.getInstance().getVolumeSfx());
+    }
+
+    /**
+     * Get sfx file.
+     * 
+     * @return The sfx file.
+     */
+    Media getMedia()
+    {
+        return media;
     }
 
     /**
@@ -314,7 +240,6 @@ public enum Sfx
         if (Settings.getInstance().getVolumeSfx() > 0)
         {
             audio.play();
-            cached = true;
         }
     }
 
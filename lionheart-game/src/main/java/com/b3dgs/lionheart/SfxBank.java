@@ -0,0 +1,358 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Verbose;
+
+/**
+ * Sound effects bank, storing decoded PCM data shared by all sfx plays.
+ * <p>
+ * Wave files are decoded once, then kept in memory within a budget (see {@link Settings#getSfxBudget()}): the least
+ * recently played ones are evicted first, and decoded again on next play. Sfx can be loaded in background, in parallel.
+ * </p>
+ * <p>
+ * This class is Thread-Safe.
+ * </p>
+ */
+public final class SfxBank
+{
+    /** Riff chunk id. */
+    private static final int RIFF = 0x46464952;
+    /** Wave format id. */
+    private static final int WAVE = 0x45564157;
+    /** Format chunk id. */
+    private static final int FMT = 0x20746D66;
+    /** Data chunk id. */
+    private static final int DATA = 0x61746164;
+    /** PCM format tag. */
+    private static final int FORMAT_PCM = 1;
+    /** Riff header size. */
+    private static final int RIFF_HEADER = 12;
+    /** Chunk header size. */
+    private static final int CHUNK_HEADER = 8;
+    /** Read buffer size. */
+    private static final int BUFFER_SIZE = 8192;
+    /** Bytes per kilo byte. */
+    private static final int KILO = 1024;
+    /** Invalid wave error. */
+    private static final String INVALID_WAVE = "Invalid wave: ";
+    /** Bank lock. */
+    private static final Object LOCK = new Object();
+    /** Decoded data by sfx, in access order. */
+    private static final Map<Sfx, byte[]> BANK = new LinkedHashMap<>(16, 0.75F, true);
+    /** Background loader. */
+    private static final ExecutorService LOADER = Executors.newFixedThreadPool(Runtime.getRuntime()
+                                                                                      .availableProcessors(),
+                                                                               SfxBank::createThread);
+    /** Bank size in bytes. */
+    private static int size;
+
+    /**
+     * Load sfx in background, in parallel. Already loaded sfx are skipped.
+     * 
+     * @param sfxs The sfx to load.
+     */
+    public static void load(Collection<Sfx> sfxs)
+    {
+        for (final Sfx sfx : sfxs)
+        {
+            LOADER.execute(() ->
+            {
+                try
+                {
+                    get(sfx);
+                }
+                catch (final LionEngineException exception)
+                {
+                    Verbose.exception(exception);
+                }
+            });
+        }
+    }
+
+    /**
+     * Create background loader thread.
+     * 
+     * @param runnable The thread runnable.
+     * @return The created thread.
+     */
+    private static Thread createThread(Runnable runnable)
+    {
+        final Thread thread = new Thread(runnable, SfxBank.class.getSimpleName());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Get sfx media, reading its data from bank.
+     * 
+     * @param sfx The sfx reference.
+     * @param media The sfx file.
+     * @return The media bank reference.
+     */
+    static Media getMedia(Sfx sfx, Media media)
+    {
+        return new BankMedia(sfx, media);
+    }
+
+    /**
+     * Get decoded sfx data, decode it if not in bank.
+     * 
+     * @param sfx The sfx reference.
+     * @return The decoded data.
+     * @throws LionEngineException If unable to decode sfx.
+     */
+    private static byte[] get(Sfx sfx)
+    {
+        synchronized (LOCK)
+        {
+            final byte[] data = BANK.get(sfx);
+            if (data != null)
+            {
+                return data;
+            }
+        }
+
+        final byte[] data = decode(sfx.getMedia());
+        synchronized (LOCK)
+        {
+            final byte[] previous = BANK.put(sfx, data);
+            if (previous != null)
+            {
+                size -= previous.length;
+            }
+            size += data.length;
+            evict(sfx);
+        }
+        return data;
+    }
+
+    /**
+     * Evict least recently used sfx until bank fits in budget.
+     * 
+     * @param kept The sfx to keep.
+     */
+    private static void evict(Sfx kept)
+    {
+        final int budget = Settings.getInstance().getSfxBudget() * KILO;
+        final Iterator<Map.Entry<Sfx, byte[]>> iterator = BANK.entrySet().iterator();
+        while (size > budget && iterator.hasNext())
+        {
+            final Map.Entry<Sfx, byte[]> entry = iterator.next();
+            if (entry.getKey() != kept)
+            {
+                size -= entry.getValue().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Decode wave file to its format and PCM data, in a canonical wave. Other chunks are dropped. Non PCM wave are
+     * kept as is.
+     * 
+     * @param media The wave file.
+     * @return The decoded data.
+     * @throws LionEngineException If unable to decode wave.
+     */
+    private static byte[] decode(Media media)
+    {
+        final ByteBuffer wave = ByteBuffer.wrap(read(media)).order(ByteOrder.LITTLE_ENDIAN);
+        if (wave.remaining() < RIFF_HEADER || wave.getInt() != RIFF)
+        {
+            throw new LionEngineException(INVALID_WAVE + media.getPath());
+        }
+        wave.getInt();
+        if (wave.getInt() != WAVE)
+        {
+            throw new LionEngineException(INVALID_WAVE + media.getPath());
+        }
+
+        ByteBuffer format = null;
+        ByteBuffer data = null;
+        while (wave.remaining() >= CHUNK_HEADER)
+        {
+            final int id = wave.getInt();
+            final int length = Math.min(wave.getInt(), wave.remaining());
+            final ByteBuffer chunk = wave.slice().order(ByteOrder.LITTLE_ENDIAN);
+            chunk.limit(length);
+            if (id == FMT)
+            {
+                format = chunk;
+            }
+            else if (id == DATA)
+            {
+                data = chunk;
+            }
+            wave.position(Math.min(wave.limit(), wave.position() + length + (length & 1)));
+        }
+        if (format == null || data == null)
+        {
+            throw new LionEngineException(INVALID_WAVE + media.getPath());
+        }
+        if (format.getShort(0) != FORMAT_PCM)
+        {
+            return wave.array();
+        }
+
+        final ByteBuffer canonical = ByteBuffer.allocate(RIFF_HEADER + CHUNK_HEADER + format.remaining() + CHUNK_HEADER
+                                                         + data.remaining())
+                                               .order(ByteOrder.LITTLE_ENDIAN);
+        canonical.putInt(RIFF);
+        canonical.putInt(canonical.capacity() - CHUNK_HEADER);
+        canonical.putInt(WAVE);
+        canonical.putInt(FMT);
+        canonical.putInt(format.remaining());
+        canonical.put(format);
+        canonical.putInt(DATA);
+        canonical.putInt(data.remaining());
+        canonical.put(data);
+        return canonical.array();
+    }
+
+    /**
+     * Read media data.
+     * 
+     * @param media The media to read.
+     * @return The media data.
+     * @throws LionEngineException If unable to read media.
+     */
+    private static byte[] read(Media media)
+    {
+        LoadProbe.countFile();
+        try (InputStream input = media.getInputStream();
+             ByteArrayOutputStream output = new ByteArrayOutputStream(BUFFER_SIZE))
+        {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) > 0)
+            {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private SfxBank()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * Sfx media, with data read from bank.
+     */
+    private static final class BankMedia implements Media
+    {
+        /** Sfx reference. */
+        private final Sfx sfx;
+        /** Sfx file. */
+        private final Media file;
+
+        /**
+         * Create media.
+         * 
+         * @param sfx The sfx reference.
+         * @param file The sfx file.
+         */
+        BankMedia(Sfx sfx, Media file)
+        {
+            super();
+
+            this.sfx = sfx;
+            this.file = file;
+        }
+
+        @Override
+        public String getPath()
+        {
+            return file.getPath();
+        }
+
+        @Override
+        public String getParentPath()
+        {
+            return file.getParentPath();
+        }
+
+        @Override
+        public File getFile()
+        {
+            return file.getFile();
+        }
+
+        @Override
+        public URL getUrl()
+        {
+            return file.getUrl();
+        }
+
+        @Override
+        public Collection<Media> getMedias()
+        {
+            return file.getMedias();
+        }
+
+        @Override
+        public InputStream getInputStream()
+        {
+            return new ByteArrayInputStream(get(sfx));
+        }
+
+        @Override
+        public OutputStream getOutputStream()
+        {
+            return file.getOutputStream();
+        }
+
+        @Override
+        public boolean exists()
+        {
+            return file.exists();
+        }
+
+        @Override
+        public String getName()
+        {
+            return file.getName();
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.HandlerListener;
+import com.b3dgs.lionengine.game.feature.Identifiable;
+import com.b3dgs.lionengine.game.feature.Spawner;
+import com.b3dgs.lionheart.constant.Extension;
+
+/**
+ * Effects and projectiles pools, sized per stage from their recorded peak use.
+ * <p>
+ * Pooled featurables are recycled by factory cache. On load, cache is created per media with the default size, then
+ * raised to the peak concurrent use recorded on previous runs of the stage, so boss fights do not run cache dry and
+ * construct featurables mid-fight. Use is tracked on handler, and peaks are saved in settings folder when stage ends.
+ * Saved peak is the run peak, or the recorded peak decayed when higher, so a single outlier run does not inflate the
+ * pool for good.
+ * </p>
+ * <p>
+ * Extra instances are spawned like default ones, and destroyed only once handler added them, so they are removed from
+ * handler to factory cache instead of being added after their destruction.
+ * </p>
+ * <p>
+ * A spawn is a hit when cache still has an instance for its media, else a miss which allocates a new instance, kept
+ * by cache once removed.
+ * </p>
+ */
+final class SpawnPool implements HandlerListener
+{
+    /** Peaks folder, in settings folder. */
+    private static final String FOLDER = "pool";
+    /** Peaks extension. */
+    private static final String EXTENSION = ".properties";
+    /** Maximum pool size per media. */
+    private static final int MAX = 32;
+    /** Recorded peak decay per run. */
+    private static final double DECAY = 0.75;
+    /** Handled count error. */
+    private static final String ERROR_HANDLED = "Released instances still handled: ";
+
+    /**
+     * Read peak value.
+     * 
+     * @param value The value read.
+     * @return The peak value, <code>0</code> if invalid.
+     */
+    private static int read(String value)
+    {
+        try
+        {
+            return Math.min(MAX, Math.max(0, Integer.parseInt(value.trim())));
+        }
+        catch (@SuppressWarnings("unused") final NumberFormatException exception)
+        {
+            return 0;
+        }
+    }
+
+    /** Extra instances to release once handled. */
+    private final List<Featurable> extra = new ArrayList<>();
+    /** Use by media. */
+    private final Map<Media, Usage> usages = new HashMap<>();
+    /** Recorded peaks by media path. */
+    private final Properties peaks = new Properties();
+    /** Peaks file. */
+    private final File file;
+    /** Hits count. */
+    private int hits;
+    /** Misses count. */
+    private int misses;
+    /** Allocations count. */
+    private int allocations;
+
+    /**
+     * Create pool, load recorded peaks of stage.
+     * 
+     * @param stage The stage media.
+     */
+    SpawnPool(Media stage)
+    {
+        super();
+
+        final String name = stage.getPath().replaceAll("[\\\\/]", "_").replace(Extension.STAGE, EXTENSION);
+        file = new File(new File(Settings.getFile().getParentFile(), FOLDER), name);
+        if (file.isFile())
+        {
+            try (Reader input = new FileReader(file))
+            {
+                peaks.load(input);
+            }
+            catch (final IOException exception)
+            {
+                Verbose.exception(exception);
+            }
+        }
+    }
+
+    /**
+     * Create cache of folder entities, sized by recorded peak when higher than default size.
+     * <p>
+     * Must be called on loading thread, before handler update, then followed by {@link #release(Handler)}.
+     * </p>
+     * 
+     * @param factory The factory reference.
+     * @param spawner The spawner reference.
+     * @param folder The entities folder.
+     * @param size The default size per entity.
+     */
+    void createCache(Factory factory, Spawner spawner, Media folder, int size)
+    {
+        factory.createCache(spawner, folder, size);
+
+        for (final Media media : folder.getMedias())
+        {
+            if (media.getPath().endsWith(Factory.FILE_DATA_DOT_EXTENSION))
+            {
+                final int peak = read(peaks.getProperty(media.getPath(), "0"));
+                final int capacity = Math.max(size, peak);
+                for (int i = size; i < capacity; i++)
+                {
+                    extra.add(spawner.spawn(media, 0.0, 0.0));
+                }
+                usages.put(media, new Usage(capacity, peak));
+                allocations += capacity;
+            }
+        }
+    }
+
+    /**
+     * Release extra instances to factory cache, by destroying them once added by handler.
+     * <p>
+     * Must be called after handler added spawned instances, on loading thread.
+     * </p>
+     * 
+     * @param handler The handler reference.
+     */
+    void release(Handler handler)
+    {
+        final int handled = handler.size() - extra.size();
+        final int n = extra.size();
+        for (int i = 0; i < n; i++)
+        {
+            extra.get(i).getFeature(Identifiable.class).destroy();
+        }
+        extra.clear();
+        handler.updateRemove();
+
+        if (handler.size() != handled)
+        {
+            Verbose.warning(ERROR_HANDLED, String.valueOf(handler.size()), " != ", String.valueOf(handled));
+        }
+    }
+
+    /**
+     * Save run peaks as new recorded peaks, or recorded peaks decayed when higher.
+     */
+    void save()
+    {
+        for (final Map.Entry<Media, Usage> entry : usages.entrySet())
+        {
+            final Usage usage = entry.getValue();
+            final int peak = Math.max(usage.peak, (int) (usage.recorded * DECAY));
+            peaks.setProperty(entry.getKey().getPath(), String.valueOf(Math.min(MAX, peak)));
+        }
+        final File folder = file.getParentFile();
+        if (folder.isDirectory() || folder.mkdirs())
+        {
+            try (Writer output = new FileWriter(file))
+            {
+                peaks.store(output, Constant.PROGRAM_VERSION.toString());
+            }
+            catch (final IOException exception)
+            {
+                Verbose.exception(exception);
+            }
+        }
+        else
+        {
+            Verbose.warning("Unable to create folder: ", folder.getPath());
+        }
+        Verbose.info("Spawn pool: ",
+                     String.valueOf(hits),
+                     " hits, ",
+                     String.valueOf(misses),
+                     " misses, ",
+                     String.valueOf(allocations),
+                     " allocations");
+    }
+
+    /**
+     * Get the number of spawns served by cache.
+     * 
+     * @return The hits.
+     */
+    int getHits()
+    {
+        return hits;
+    }
+
+    /**
+     * Get the number of spawns with empty cache.
+     * 
+     * @return The misses.
+     */
+    int getMisses()
+    {
+        return misses;
+    }
+
+    /**
+     * Get the number of pooled instances allocated, on load and on misses.
+     * 
+     * @return The allocations.
+     */
+    int getAllocations()
+    {
+        return allocations;
+    }
+
+    @Override
+    public void notifyHandlableAdded(Featurable featurable)
+    {
+        final Usage usage = usages.get(featurable.getMedia());
+        if (usage != null)
+        {
+            if (usage.live < usage.capacity)
+            {
+                hits++;
+            }
+            else
+            {
+                misses++;
+                allocations++;
+                usage.capacity++;
+            }
+            usage.live++;
+            usage.peak = Math.max(usage.peak, usage.live);
+        }
+    }
+
+    @Override
+    public void notifyHandlableRemoved(Featurable featurable)
+    {
+        final Usage usage = usages.get(featurable.getMedia());
+        if (usage != null && usage.live > 0)
+        {
+            usage.live--;
+        }
+    }
+
+    /**
+     * Media use.
+     */
+    private static final class Usage
+    {
+        /** Recorded peak of previous runs. */
+        private final int recorded;
+        /** Cached instances. */
+        private int capacity;
+        /** Highest concurrent instances of this run. */
+        private int peak;
+        /** Current instances. */
+        private int live;
+
+        /**
+         * Create use.
+         * 
+         * @param capacity The cached instances.
+         * @param recorded The recorded peak of previous runs.
+         */
+        Usage(int capacity, int recorded)
+        {
+            super();
+
+            this.capacity = capacity;
+            this.recorded = recorded;
+        }
+    }
+}
@@ -0,0 +1,725 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Xml;
+import com.b3dgs.lionengine.XmlReader;
+import com.b3dgs.lionengine.geom.Coord;
+import com.b3dgs.lionheart.constant.Extension;
+import com.b3dgs.lionheart.landscape.ForegroundConfig;
+
+/**
+ * Compiled stage format, loaded by {@link StageConfig} instead of the stage XML when available.
+ * <p>
+ * Layout is magic, version, string table, then header, foreground, boss, checkpoints and packed entities table.
+ * Strings (media, attribute names and values) are stored once and referenced by index. Entities without extra
+ * attributes or children are decoded without any XML node.
+ * </p>
+ */
+final class StageBinary
+{
+    /** Format magic. */
+    static final int MAGIC = 0x4C485354;
+    /** Format version. */
+    static final int VERSION = 1;
+    /** No string index. */
+    private static final int NONE = -1;
+
+    /**
+     * Get the compiled stage media associated to stage XML.
+     * 
+     * @param stage The stage XML media.
+     * @return The compiled stage media.
+     */
+    static Media getMedia(Media stage)
+    {
+        return Medias.create(stage.getPath().replace(Extension.STAGE, Extension.STAGE_BINARY));
+    }
+
+    /**
+     * Compile stage XML to binary.
+     * 
+     * @param xml The stage XML input.
+     * @param output The compiled output.
+     * @throws LionEngineException If unable to read stage or write output.
+     */
+    static void compile(InputStream xml, OutputStream output)
+    {
+        try
+        {
+            final Element root = DocumentBuilderFactory.newInstance()
+                                                       .newDocumentBuilder()
+                                                       .parse(xml)
+                                                       .getDocumentElement();
+            final Writer writer = new Writer();
+
+            writer.writeStringOptional(getAttribute(root, StageConfig.ATT_STAGE_PIC));
+            writer.writeStringOptional(getAttribute(root, StageConfig.ATT_STAGE_TEXT));
+            writer.writeString(getAttribute(root, StageConfig.NODE_MUSIC, StageConfig.ATT_MUSIC_FILE).get());
+            writer.writeString(getAttribute(root, StageConfig.NODE_MAP, StageConfig.ATT_MAP_FILE).get());
+            writer.writeIntegerOptional(getAttribute(root,
+                                                     StageConfig.NODE_MAP,
+                                                     StageConfig.ATT_MAP_LINES_PER_RASTER));
+            writer.writeIntegerOptional(getAttribute(root,
+                                                     StageConfig.NODE_MAP,
+                                                     StageConfig.ATT_MAP_RASTER_LINE_OFFSET));
+            writer.writeStringOptional(getAttribute(root, StageConfig.NODE_RASTER, StageConfig.ATT_RASTER_FOLDER));
+            writer.writeString(getAttribute(root,
+                                            StageConfig.NODE_BACKGROUND,
+                                            StageConfig.ATT_BACKGROUND_TYPE).get());
+            writer.writeNode(getChild(root, ForegroundConfig.NODE_FOREGROUND).get());
+
+            writeBoss(writer, root);
+            writeCheckpoints(writer, root);
+            writeEntities(writer, root);
+
+            writer.flush(output);
+        }
+        catch (final IOException | ParserConfigurationException | SAXException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
+    /**
+     * Write boss data.
+     * 
+     * @param writer The writer reference.
+     * @param root The stage root.
+     * @throws IOException If error on writing.
+     */
+    private static void writeBoss(Writer writer, Element root) throws IOException
+    {
+        final Optional<Element> boss = getChild(root, StageConfig.NODE_BOSS);
+        if (boss.isPresent()
+            && boss.get().hasAttribute(StageConfig.ATT_BOSS_TX)
+            && boss.get().hasAttribute(StageConfig.ATT_BOSS_TY))
+        {
+            final Element node = boss.get();
+            writer.writeBoolean(true);
+            writer.writeDouble(node.getAttribute(StageConfig.ATT_BOSS_TX));
+            writer.writeDouble(node.getAttribute(StageConfig.ATT_BOSS_TY));
+            writer.writeDouble(node.getAttribute(StageConfig.ATT_BOSS_TSX));
+            writer.writeDouble(node.getAttribute(StageConfig.ATT_BOSS_TSY));
+            writer.writeString(node.getAttribute(StageConfig.ATT_BOSS_NEXT));
+        }
+        else
+        {
+            writer.writeBoolean(false);
+        }
+    }
+
+    /**
+     * Write checkpoints data.
+     * 
+     * @param writer The writer reference.
+     * @param root The stage root.
+     * @throws IOException If error on writing.
+     */
+    private static void writeCheckpoints(Writer writer, Element root) throws IOException
+    {
+        final List<Element> checkpoints = getChild(root, StageConfig.NODE_CHECKPOINTS).map(StageBinary::getChildren)
+                                                                                     .orElse(new ArrayList<>());
+        writer.writeInteger(checkpoints.size());
+        for (final Element checkpoint : checkpoints)
+        {
+            writer.writeDouble(checkpoint.getAttribute(StageConfig.ATT_CHECKPOINT_TX));
+            writer.writeDouble(checkpoint.getAttribute(StageConfig.ATT_CHECKPOINT_TY));
+            writer.writeStringOptional(getAttribute(checkpoint, StageConfig.ATT_CHECKPOINT_NEXT));
+            writer.writeCoordOptional(checkpoint, StageConfig.ATT_SPAWN_TX, StageConfig.ATT_SPAWN_TY);
+        }
+    }
+
+    /**
+     * Write entities table.
+     * 
+     * @param writer The writer reference.
+     * @param root The stage root.
+     * @throws IOException If error on writing.
+     */
+    private static void writeEntities(Writer writer, Element root) throws IOException
+    {
+        final List<Element> entities = getChild(root, StageConfig.NODE_ENTITIES).map(StageBinary::getChildren)
+                                                                               .orElse(new ArrayList<>());
+        writer.writeInteger(entities.size());
+        for (final Element entity : entities)
+        {
+            writer.writeString(entity.getAttribute(EntityConfig.ATT_FILE));
+            writer.writeDouble(entity.getAttribute(EntityConfig.ATT_RESPAWN_TX));
+            writer.writeDouble(entity.getAttribute(EntityConfig.ATT_RESPAWN_TY));
+            writer.writeContent(entity,
+                                EntityConfig.ATT_FILE,
+                                EntityConfig.ATT_RESPAWN_TX,
+                                EntityConfig.ATT_RESPAWN_TY);
+        }
+    }
+
+    /**
+     * Get attribute value if defined.
+     * 
+     * @param node The node reference.
+     * @param attribute The attribute name.
+     * @return The attribute value.
+     */
+    private static Optional<String> getAttribute(Element node, String attribute)
+    {
+        if (node.hasAttribute(attribute))
+        {
+            return Optional.of(node.getAttribute(attribute));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get child attribute value if defined.
+     * 
+     * @param node The node reference.
+     * @param child The child name.
+     * @param attribute The attribute name.
+     * @return The attribute value.
+     */
+    private static Optional<String> getAttribute(Element node, String child, String attribute)
+    {
+        return getChild(node, child).flatMap(c -> getAttribute(c, attribute));
+    }
+
+    /**
+     * Get first child by name.
+     * 
+     * @param node The node reference.
+     * @param child The child name.
+     * @return The child found.
+     */
+    private static Optional<Element> getChild(Element node, String child)
+    {
+        return getChildren(node).stream().filter(c -> child.equals(c.getNodeName())).findFirst();
+    }
+
+    /**
+     * Get children elements.
+     * 
+     * @param node The node reference.
+     * @return The children elements.
+     */
+    private static List<Element> getChildren(Element node)
+    {
+        final NodeList list = node.getChildNodes();
+        final int n = list.getLength();
+        final List<Element> children = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+        {
+            final Node child = list.item(i);
+            if (child.getNodeType() == Node.ELEMENT_NODE)
+            {
+                children.add((Element) child);
+            }
+        }
+        return children;
+    }
+
+    /** Data input. */
+    private final DataInputStream input;
+    /** Strings table. */
+    private final String[] strings;
+    /** Interned medias, by string index. */
+    private final Media[] medias;
+    /** Shared node for entities without extra data. */
+    private final XmlReader empty = new Xml(EntityConfig.NODE_ENTITY);
+
+    /**
+     * Open compiled stage and read its strings table.
+     * 
+     * @param input The compiled stage input.
+     * @throws IOException If invalid format or error on reading.
+     */
+    StageBinary(InputStream input) throws IOException
+    {
+        super();
+
+        this.input = new DataInputStream(new BufferedInputStream(input));
+
+        if (this.input.readInt() != MAGIC)
+        {
+            throw new IOException("Invalid compiled stage");
+        }
+        final int version = this.input.readShort();
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported compiled stage version: " + version);
+        }
+
+        final int n = this.input.readInt();
+        strings = new String[n];
+        for (int i = 0; i < n; i++)
+        {
+            strings[i] = this.input.readUTF();
+        }
+        medias = new Media[n];
+    }
+
+    /**
+     * Read boolean.
+     * 
+     * @return The boolean value.
+     * @throws IOException If error on reading.
+     */
+    boolean readBoolean() throws IOException
+    {
+        return input.readBoolean();
+    }
+
+    /**
+     * Read integer.
+     * 
+     * @return The integer value.
+     * @throws IOException If error on reading.
+     */
+    int readInteger() throws IOException
+    {
+        return input.readInt();
+    }
+
+    /**
+     * Read optional integer.
+     * 
+     * @return The integer value.
+     * @throws IOException If error on reading.
+     */
+    OptionalInt readIntegerOptional() throws IOException
+    {
+        if (input.readBoolean())
+        {
+            return OptionalInt.of(input.readInt());
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Read double.
+     * 
+     * @return The double value.
+     * @throws IOException If error on reading.
+     */
+    double readDouble() throws IOException
+    {
+        return input.readDouble();
+    }
+
+    /**
+     * Read coordinate.
+     * 
+     * @return The coordinate value.
+     * @throws IOException If error on reading.
+     */
+    Coord readCoord() throws IOException
+    {
+        final double x = input.readDouble();
+        final double y = input.readDouble();
+        return new Coord(x, y);
+    }
+
+    /**
+     * Read optional coordinate.
+     * 
+     * @return The coordinate value.
+     * @throws IOException If error on reading.
+     */
+    Optional<Coord> readCoordOptional() throws IOException
+    {
+        if (input.readBoolean())
+        {
+            return Optional.of(readCoord());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Read string.
+     * 
+     * @return The string value.
+     * @throws IOException If error on reading.
+     */
+    String readString() throws IOException
+    {
+        return strings[input.readInt()];
+    }
+
+    /**
+     * Read optional string.
+     * 
+     * @return The string value.
+     * @throws IOException If error on reading.
+     */
+    Optional<String> readStringOptional() throws IOException
+    {
+        final int index = input.readInt();
+        if (index == NONE)
+        {
+            return Optional.empty();
+        }
+        return Optional.of(strings[index]);
+    }
+
+    /**
+     * Read media, created once per string.
+     * 
+     * @return The media value.
+     * @throws IOException If error on reading.
+     */
+    Media readMedia() throws IOException
+    {
+        return getMedia(input.readInt());
+    }
+
+    /**
+     * Read optional media.
+     * 
+     * @return The media value.
+     * @throws IOException If error on reading.
+     */
+    Optional<Media> readMediaOptional() throws IOException
+    {
+        final int index = input.readInt();
+        if (index == NONE)
+        {
+            return Optional.empty();
+        }
+        return Optional.of(getMedia(index));
+    }
+
+    /**
+     * Read generic node.
+     * 
+     * @return The node read.
+     * @throws IOException If error on reading.
+     */
+    XmlReader readNode() throws IOException
+    {
+        final Xml node = new Xml(readString());
+        readContent(node);
+        return node;
+    }
+
+    /**
+     * Read packed entity.
+     * 
+     * @return The entity read.
+     * @throws IOException If error on reading.
+     */
+    EntityConfig readEntity() throws IOException
+    {
+        final Media media = readMedia();
+        final Coord spawn = readCoord();
+
+        final int attributes = input.readInt();
+        final int children = input.readInt();
+        if (attributes == 0 && children == 0)
+        {
+            return EntityConfig.imports(media, spawn, empty);
+        }
+
+        final Xml node = new Xml(EntityConfig.NODE_ENTITY);
+        readContent(node, attributes, children);
+        return EntityConfig.imports(media, spawn, node);
+    }
+
+    /**
+     * Read node attributes and children.
+     * 
+     * @param node The node to fill.
+     * @throws IOException If error on reading.
+     */
+    private void readContent(Xml node) throws IOException
+    {
+        final int attributes = input.readInt();
+        final int children = input.readInt();
+        readContent(node, attributes, children);
+    }
+
+    /**
+     * Read node attributes and children.
+     * 
+     * @param node The node to fill.
+     * @param attributes The attributes number.
+     * @param children The children number.
+     * @throws IOException If error on reading.
+     */
+    private void readContent(Xml node, int attributes, int children) throws IOException
+    {
+        for (int i = 0; i < attributes; i++)
+        {
+            final String attribute = readString();
+            node.writeString(attribute, readString());
+        }
+        for (int i = 0; i < children; i++)
+        {
+            final Xml child = new Xml(readString());
+            readContent(child);
+            node.add(child);
+        }
+    }
+
+    /**
+     * Get interned media.
+     * 
+     * @param index The string index.
+     * @return The media.
+     */
+    private Media getMedia(int index)
+    {
+        if (medias[index] == null)
+        {
+            medias[index] = Medias.create(strings[index]);
+        }
+        return medias[index];
+    }
+
+    /**
+     * Compiled stage writer, interning strings while writing body.
+     */
+    private static final class Writer
+    {
+        /** Interned strings. */
+        private final Map<String, Integer> indexes = new HashMap<>();
+        /** Strings table. */
+        private final List<String> strings = new ArrayList<>();
+        /** Body data. */
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        /** Body output. */
+        private final DataOutputStream output = new DataOutputStream(body);
+
+        /**
+         * Create writer.
+         */
+        Writer()
+        {
+            super();
+        }
+
+        /**
+         * Write boolean.
+         * 
+         * @param value The value.
+         * @throws IOException If error on writing.
+         */
+        void writeBoolean(boolean value) throws IOException
+        {
+            output.writeBoolean(value);
+        }
+
+        /**
+         * Write integer.
+         * 
+         * @param value The value.
+         * @throws IOException If error on writing.
+         */
+        void writeInteger(int value) throws IOException
+        {
+            output.writeInt(value);
+        }
+
+        /**
+         * Write optional integer.
+         * 
+         * @param value The value as string.
+         * @throws IOException If error on writing.
+         */
+        void writeIntegerOptional(Optional<String> value) throws IOException
+        {
+            output.writeBoolean(value.isPresent());
+            if (value.isPresent())
+            {
+                output.writeInt(Integer.parseInt(value.get()));
+            }
+        }
+
+        /**
+         * Write double.
+         * 
+         * @param value The value as string.
+         * @throws IOException If error on writing.
+         */
+        void writeDouble(String value) throws IOException
+        {
+            output.writeDouble(Double.parseDouble(value));
+        }
+
+        /**
+         * Write optional coordinate.
+         * 
+         * @param node The node reference.
+         * @param x The horizontal attribute.
+         * @param y The vertical attribute.
+         * @throws IOException If error on writing.
+         */
+        void writeCoordOptional(Element node, String x, String y) throws IOException
+        {
+            final boolean present = node.hasAttribute(x) && node.hasAttribute(y);
+            output.writeBoolean(present);
+            if (present)
+            {
+                writeDouble(node.getAttribute(x));
+                writeDouble(node.getAttribute(y));
+            }
+        }
+
+        /**
+         * Write string index.
+         * 
+         * @param value The value.
+         * @throws IOException If error on writing.
+         */
+        void writeString(String value) throws IOException
+        {
+            output.writeInt(indexes.computeIfAbsent(value, v ->
+            {
+                strings.add(v);
+                return Integer.valueOf(strings.size() - 1);
+            }).intValue());
+        }
+
+        /**
+         * Write optional string index.
+         * 
+         * @param value The value.
+         * @throws IOException If error on writing.
+         */
+        void writeStringOptional(Optional<String> value) throws IOException
+        {
+            if (value.isPresent())
+            {
+                writeString(value.get());
+            }
+            else
+            {
+                output.writeInt(NONE);
+            }
+        }
+
+        /**
+         * Write generic node.
+         * 
+         * @param node The node reference.
+         * @throws IOException If error on writing.
+         */
+        void writeNode(Element node) throws IOException
+        {
+            writeString(node.getNodeName());
+            writeContent(node);
+        }
+
+        /**
+         * Write node attributes and children.
+         * 
+         * @param node The node reference.
+         * @param excluded The attributes already written.
+         * @throws IOException If error on writing.
+         */
+        void writeContent(Element node, String... excluded) throws IOException
+        {
+            final NamedNodeMap attributes = node.getAttributes();
+            final List<Node> kept = new ArrayList<>();
+            for (int i = 0; i < attributes.getLength(); i++)
+            {
+                final Node attribute = attributes.item(i);
+                if (!isExcluded(attribute.getNodeName(), excluded))
+                {
+                    kept.add(attribute);
+                }
+            }
+            final List<Element> children = getChildren(node);
+
+            output.writeInt(kept.size());
+            output.writeInt(children.size());
+            for (final Node attribute : kept)
+            {
+                writeString(attribute.getNodeName());
+                writeString(attribute.getNodeValue());
+            }
+            for (final Element child : children)
+            {
+                writeNode(child);
+            }
+        }
+
+        /**
+         * Write strings table and body to output.
+         * 
+         * @param destination The output destination.
+         * @throws IOException If error on writing.
+         */
+        void flush(OutputStream destination) throws IOException
+        {
+            final DataOutputStream out = new DataOutputStream(destination);
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(strings.size());
+            for (final String string : strings)
+            {
+                out.writeUTF(string);
+            }
+            output.flush();
+            body.writeTo(out);
+            out.flush();
+        }
+
+        /**
+         * Check if attribute is excluded.
+         * 
+         * @param attribute The attribute name.
+         * @param excluded The excluded attributes.
+         * @return <code>true</code> if excluded, <code>false</code> else.
+         */
+        private static boolean isExcluded(String attribute, String... excluded)
+        {
+            for (final String name : excluded)
+            {
+                if (name.equals(attribute))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
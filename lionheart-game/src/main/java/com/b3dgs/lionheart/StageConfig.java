@@ -16,13 +16,18 @@
  */
 package com.b3dgs.lionheart;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Verbose;
 import com.b3dgs.lionengine.XmlReader;
 import com.b3dgs.lionengine.game.Configurer;
 import com.b3dgs.lionengine.geom.Coord;
@@ -37,64 +42,96 @@ public final class StageConfig
     /** Stage node name. */
     public static final String NODE_STAGE = "stage";
     /** Stage picture attribute name. */
-    private static final String ATT_STAGE_PIC = "pic";
+    static final String ATT_STAGE_PIC = "pic";
     /** Stage text attribute name. */
-    private static final String ATT_STAGE_TEXT = "text";
+    static final String ATT_STAGE_TEXT = "text";
 
     /** Music node name. */
-    private static final String NODE_MUSIC = "music";
+    static final String NODE_MUSIC = "music";
     /** Music file attribute name. */
-    private static final String ATT_MUSIC_FILE = "file";
+    static final String ATT_MUSIC_FILE = "file";
 
     /** Map node name. */
-    private static final String NODE_MAP = "map";
+    static final String NODE_MAP = "map";
     /** Map file attribute name. */
-    private static final String ATT_MAP_FILE = "file";
+    static final String ATT_MAP_FILE = "file";
     /** Lines per raster attribute name. */
-    private static final String ATT_MAP_LINES_PER_RASTER = "linesPerRaster";
+    static final String ATT_MAP_LINES_PER_RASTER = "linesPerRaster";
     /** Raster line offset attribute name. */
-    private static final String ATT_MAP_RASTER_LINE_OFFSET = "rasterLineOffset";
+    static final String ATT_MAP_RASTER_LINE_OFFSET = "rasterLineOffset";
+    /** Default lines per raster. */
+    private static final int DEFAULT_LINES_PER_RASTER = 2;
+    /** Default raster line offset. */
+    private static final int DEFAULT_RASTER_LINE_OFFSET = 1;
 
     /** Raster folder node name. */
-    private static final String NODE_RASTER = "raster";
+    static final String NODE_RASTER = "raster";
     /** Raster folder attribute name. */
-    private static final String ATT_RASTER_FOLDER = "folder";
+    static final String ATT_RASTER_FOLDER = "folder";
 
     /** Background node name. */
-    private static final String NODE_BACKGROUND = "background";
+    static final String NODE_BACKGROUND = "background";
     /** Background type attribute name. */
-    private static final String ATT_BACKGROUND_TYPE = "type";
+    static final String ATT_BACKGROUND_TYPE = "type";
 
     /** Checkpoints node name. */
-    private static final String NODE_CHECKPOINTS = "checkpoints";
+    static final String NODE_CHECKPOINTS = "checkpoints";
     /** Checkpoint node name. */
-    private static final String NODE_CHECKPOINT = "checkpoint";
+    static final String NODE_CHECKPOINT = "checkpoint";
     /** Checkpoint tile x attribute name. */
-    private static final String ATT_CHECKPOINT_TX = "tx";
+    static final String ATT_CHECKPOINT_TX = "tx";
     /** Checkpoint tile y attribute name. */
-    private static final String ATT_CHECKPOINT_TY = "ty";
+    static final String ATT_CHECKPOINT_TY = "ty";
     /** Checkpoint next stage attribute name. */
-    private static final String ATT_CHECKPOINT_NEXT = "next";
+    static final String ATT_CHECKPOINT_NEXT = "next";
     /** Spawn tile x attribute name. */
-    private static final String ATT_SPAWN_TX = "stx";
+    static final String ATT_SPAWN_TX = "stx";
     /** Spawn tile y attribute name. */
-    private static final String ATT_SPAWN_TY = "sty";
+    static final String ATT_SPAWN_TY = "sty";
 
     /** Boss node name. */
-    private static final String NODE_BOSS = "boss";
+    static final String NODE_BOSS = "boss";
     /** Boss tile x attribute name. */
-    private static final String ATT_BOSS_TX = "tx";
+    static final String ATT_BOSS_TX = "tx";
     /** Boss tile y attribute name. */
-    private static final String ATT_BOSS_TY = "ty";
+    static final String ATT_BOSS_TY = "ty";
     /** Boss spawn tile x attribute name. */
-    private static final String ATT_BOSS_TSX = "tsx";
+    static final String ATT_BOSS_TSX = "tsx";
     /** Boss spawn tile y attribute name. */
-    private static final String ATT_BOSS_TSY = "tsy";
+    static final String ATT_BOSS_TSY = "tsy";
     /** Boss next stage attribute name. */
-    private static final String ATT_BOSS_NEXT = "next";
+    static final String ATT_BOSS_NEXT = "next";
 
     /** Entities node name. */
-    private static final String NODE_ENTITIES = "entities";
+    static final String NODE_ENTITIES = "entities";
+
+    /** Parsed stages by path. */
+    private static final Map<String, StageConfig> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Imports the config from stage media, parsed once and shared until the file is modified.
+     * <p>
+     * Compiled stage is loaded first if available and not older than stage XML, else stage XML is parsed.
+     * </p>
+     * 
+     * @param media The stage media (must not be <code>null</code>).
+     * @return The config data.
+     * @throws LionEngineException If invalid argument or unable to read node.
+     */
+    public static StageConfig imports(Media media)
+    {
+        Check.notNull(media);
+
+        final long modified = media.getFile().lastModified();
+        return CACHE.compute(media.getPath(), (path, cached) ->
+        {
+            if (cached != null && cached.modified == modified)
+            {
+                return cached;
+            }
+            return load(media, modified);
+        });
+    }
 
     /**
      * Imports the config from configurer.
@@ -105,7 +142,49 @@ public final class StageConfig
      */
     public static StageConfig imports(Configurer configurer)
     {
-        return new StageConfig(configurer);
+        return new StageConfig(configurer, 0L);
+    }
+
+    /**
+     * Imports the config from compiled stage.
+     * 
+     * @param binary The compiled stage reference (must not be <code>null</code>).
+     * @param modified The stage file last modification time.
+     * @return The config data.
+     * @throws IOException If unable to read compiled stage.
+     * @throws LionEngineException If unable to read node.
+     */
+    static StageConfig imports(StageBinary binary, long modified) throws IOException
+    {
+        Check.notNull(binary);
+
+        return new StageConfig(binary, modified);
+    }
+
+    /**
+     * Load stage, from compiled stage if available, else from stage XML.
+     * 
+     * @param media The stage media.
+     * @param modified The stage file last modification time.
+     * @return The config data.
+     * @throws LionEngineException If unable to read stage.
+     */
+    private static StageConfig load(Media media, long modified)
+    {
+        LoadProbe.countFile();
+        final Media binary = StageBinary.getMedia(media);
+        if (binary.exists() && binary.getFile().lastModified() >= modified)
+        {
+            try (InputStream input = binary.getInputStream())
+            {
+                return imports(new StageBinary(input), modified);
+            }
+            catch (final IOException exception)
+            {
+                Verbose.exception(exception);
+            }
+        }
+        return new StageConfig(new Configurer(media), modified);
     }
 
     /** Picture file. */
@@ -136,27 +215,34 @@ public final class StageConfig
     private final Collection<Checkpoint> checkpoints = new ArrayList<>();
     /** Entities configuration. */
     private final Collection<EntityConfig> entities = new ArrayList<>();
+    /** Stage file last modification time. */
+    private final long modified;
 
     /**
      * Create config.
      * 
      * @param configurer The configurer reference.
+     * @param modified The stage file last modification time.
      * @throws LionEngineException If unable to read node.
      */
-    private StageConfig(Configurer configurer)
+    private StageConfig(Configurer configurer, long modified)
     {
         super();
 
         Check.notNull(configurer);
 
+        this.modified = modified;
+
         pic = configurer.getMediaOptional(ATT_STAGE_PIC);
         text = configurer.getStringOptional(ATT_STAGE_TEXT);
 
         music = configurer.getMedia(ATT_MUSIC_FILE, NODE_MUSIC);
 
         mapFile = configurer.getMedia(ATT_MAP_FILE, NODE_MAP);
-        linesPerRaster = configurer.getIntegerDefault(2, ATT_MAP_LINES_PER_RASTER, NODE_MAP);
-        rasterLineOffset = configurer.getIntegerDefault(1, ATT_MAP_RASTER_LINE_OFFSET, NODE_MAP);
+        linesPerRaster = configurer.getIntegerDefault(DEFAULT_LINES_PER_RASTER, ATT_MAP_LINES_PER_RASTER, NODE_MAP);
+        rasterLineOffset = configurer.getIntegerDefault(DEFAULT_RASTER_LINE_OFFSET,
+                                                        ATT_MAP_RASTER_LINE_OFFSET,
+                                                        NODE_MAP);
 
         rasterFolder = configurer.getStringOptional(ATT_RASTER_FOLDER, NODE_RASTER);
 
@@ -183,6 +269,63 @@ public final class StageConfig
         configurer.getChildren(EntityConfig.NODE_ENTITY, NODE_ENTITIES).forEach(this::addEntity);
     }
 
+    /**
+     * Create config from compiled stage.
+     * 
+     * @param binary The compiled stage reference.
+     * @param modified The stage file last modification time.
+     * @throws IOException If unable to read compiled stage.
+     * @throws LionEngineException If unable to read node.
+     */
+    private StageConfig(StageBinary binary, long modified) throws IOException
+    {
+        super();
+
+        this.modified = modified;
+
+        pic = binary.readMediaOptional();
+        text = binary.readStringOptional();
+
+        music = binary.readMedia();
+
+        mapFile = binary.readMedia();
+        linesPerRaster = binary.readIntegerOptional().orElse(DEFAULT_LINES_PER_RASTER);
+        rasterLineOffset = binary.readIntegerOptional().orElse(DEFAULT_RASTER_LINE_OFFSET);
+
+        rasterFolder = binary.readStringOptional();
+
+        background = BackgroundType.valueOf(binary.readString());
+        foreground = ForegroundConfig.imports(binary.readNode());
+
+        if (binary.readBoolean())
+        {
+            boss = Optional.of(binary.readCoord());
+            bossSpawn = Optional.of(binary.readCoord());
+            bossNext = Optional.of(binary.readString());
+        }
+        else
+        {
+            boss = Optional.empty();
+            bossSpawn = Optional.empty();
+            bossNext = Optional.empty();
+        }
+
+        final int checkpointsCount = binary.readInteger();
+        for (int i = 0; i < checkpointsCount; i++)
+        {
+            final double tx = binary.readDouble();
+            final double ty = binary.readDouble();
+            final Optional<String> next = binary.readStringOptional();
+            checkpoints.add(new Checkpoint(tx, ty, next, binary.readCoordOptional()));
+        }
+
+        final int entitiesCount = binary.readInteger();
+        for (int i = 0; i < entitiesCount; i++)
+        {
+            entities.add(binary.readEntity());
+        }
+    }
+
     /**
      * Add checkpoint from configuration.
      * 
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionheart.constant.Extension;
+
+/**
+ * Stage assets preloaded in background while a transition screen is displayed.
+ * <p>
+ * Only thread-safe work is done here: stage parsing (with entity definitions), raster atlas decoding and map files
+ * reading. {@link World} then only attaches the preloaded data.
+ * </p>
+ */
+final class StagePreload
+{
+    /** Pending lock. */
+    private static final Object LOCK = new Object();
+    /** Pending preload. */
+    private static StagePreload pending;
+
+    /**
+     * Start stage preload in background if not already started.
+     * 
+     * @param stage The stage media.
+     */
+    static void start(Media stage)
+    {
+        synchronized (LOCK)
+        {
+            if (pending == null || !pending.path.equals(stage.getPath()))
+            {
+                pending = new StagePreload(stage);
+                final Thread thread = new Thread(pending.task, StagePreload.class.getSimpleName());
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    /**
+     * Take the preloaded stage, wait for its end if still running, or load it now if not started.
+     * 
+     * @param stage The stage media.
+     * @return The preloaded stage.
+     * @throws LionEngineException If preload failed.
+     */
+    static StagePreload take(Media stage)
+    {
+        StagePreload preload = null;
+        synchronized (LOCK)
+        {
+            if (pending != null && pending.path.equals(stage.getPath()))
+            {
+                preload = pending;
+            }
+            pending = null;
+        }
+        if (preload == null)
+        {
+            preload = new StagePreload(stage);
+            preload.task.run();
+        }
+        preload.await();
+        return preload;
+    }
+
+    /** Preloaded map files content by path. */
+    private final Map<String, ByteBuffer> files = new ConcurrentHashMap<>();
+    /** Preload phases measure, by name (only written by preload task). */
+    private final Map<String, LoadProbe> probes = new LinkedHashMap<>();
+    /** Preload task. */
+    private final FutureTask<Void> task = new FutureTask<>(this::load, null);
+    /** Stage media. */
+    private final Media stage;
+    /** Stage path. */
+    private final String path;
+    /** Stage configuration. */
+    private volatile StageConfig config;
+
+    /**
+     * Create preload.
+     * 
+     * @param stage The stage media.
+     */
+    private StagePreload(Media stage)
+    {
+        super();
+
+        this.stage = stage;
+        path = stage.getPath();
+    }
+
+    /**
+     * Load stage assets.
+     */
+    private void load()
+    {
+        final LoadProbe parse = LoadProbe.start();
+        config = StageConfig.imports(stage);
+        probes.put("parse", parse.stop());
+
+        final LoadProbe atlas = LoadProbe.start();
+        config.getRasterFolder().ifPresent(RasterAtlas::get);
+        probes.put("atlas", atlas.stop());
+
+        final LoadProbe read = LoadProbe.start();
+        final Media map = config.getMapFile();
+        preload(map);
+        preload(Medias.create(map.getPath().replace(Extension.MAP, "_bottom" + Extension.MAP)));
+        probes.put("read", read.stop());
+    }
+
+    /**
+     * Preload map file content if exists.
+     * 
+     * @param media The map media to preload.
+     */
+    private void preload(Media media)
+    {
+        if (media.exists())
+        {
+            try
+            {
+                files.put(media.getPath(), MapTilePersisterOptimized.read(media));
+            }
+            catch (final IOException exception)
+            {
+                throw new LionEngineException(exception);
+            }
+        }
+    }
+
+    /**
+     * Wait for preload end.
+     * 
+     * @throws LionEngineException If preload failed.
+     */
+    private void await()
+    {
+        try
+        {
+            task.get();
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new LionEngineException(exception);
+        }
+        catch (final ExecutionException exception)
+        {
+            throw new LionEngineException(exception.getCause());
+        }
+    }
+
+    /**
+     * Report preload phases measure, done in background.
+     * 
+     * @param pipeline The loading pipeline.
+     */
+    void report(LoadPipeline pipeline)
+    {
+        probes.forEach(pipeline::add);
+    }
+
+    /**
+     * Get the stage configuration.
+     * 
+     * @return The stage configuration.
+     */
+    StageConfig getConfig()
+    {
+        return config;
+    }
+
+    /**
+     * Get the map tiles data, from preloaded content if available.
+     * 
+     * @param media The map media.
+     * @return The map tiles data.
+     * @throws LionEngineException If unable to read map.
+     */
+    ByteBuffer getMap(Media media)
+    {
+        final ByteBuffer data = files.get(media.getPath());
+        if (data != null)
+        {
+            return data;
+        }
+        try
+        {
+            return MapTilePersisterOptimized.read(media);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+}
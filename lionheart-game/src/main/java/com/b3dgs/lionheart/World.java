@@ -16,13 +16,13 @@
  */
 package com.b3dgs.lionheart;
 
-import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.CompletableFuture;
 
 import com.b3dgs.lionengine.LionEngineException;
 import com.b3dgs.lionengine.Media;
@@ -31,9 +31,7 @@ import com.b3dgs.lionengine.Mirror;
 import com.b3dgs.lionengine.Tick;
 import com.b3dgs.lionengine.UtilMath;
 import com.b3dgs.lionengine.Verbose;
-import com.b3dgs.lionengine.audio.Audio;
-import com.b3dgs.lionengine.audio.AudioFactory;
-import com.b3dgs.lionengine.game.Configurer;
+import com.b3dgs.lionengine.game.background.Background;
 import com.b3dgs.lionengine.game.feature.Featurable;
 import com.b3dgs.lionengine.game.feature.Layerable;
 import com.b3dgs.lionengine.game.feature.LayerableModel;
@@ -41,6 +39,7 @@ import com.b3dgs.lionengine.game.feature.Mirrorable;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.collidable.ComponentCollision;
 import com.b3dgs.lionengine.game.feature.state.StateHandler;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
@@ -67,7 +66,6 @@ import com.b3dgs.lionengine.helper.EntityChecker;
 import com.b3dgs.lionengine.helper.MapTileHelper;
 import com.b3dgs.lionengine.helper.WorldHelper;
 import com.b3dgs.lionengine.io.DeviceController;
-import com.b3dgs.lionengine.io.FileReading;
 import com.b3dgs.lionheart.constant.CollisionName;
 import com.b3dgs.lionheart.constant.Extension;
 import com.b3dgs.lionheart.constant.Folder;
@@ -103,27 +101,7 @@ import com.b3dgs.lionheart.object.state.StateWin;
  */
 final class World extends WorldHelper implements MusicPlayer, LoadNextStage
 {
-    /**
-     * Load map tiles data.
-     * 
-     * @param map The map reference.
-     * @param media The map tiles data.
-     */
-    private static void loadMapTiles(MapTile map, Media media)
-    {
-        try (FileReading reading = new FileReading(media))
-        {
-            final MapTilePersister mapPersister = map.getFeature(MapTilePersister.class);
-            mapPersister.load(reading);
-            map.getFeature(MapTileCollision.class)
-               .loadCollisions(Medias.create(Folder.LEVEL, CollisionFormulaConfig.FILENAME),
-                               Medias.create(Folder.LEVEL, CollisionGroupConfig.FILENAME));
-        }
-        catch (final IOException exception)
-        {
-            throw new LionEngineException(exception);
-        }
-    }
+    private static final String AMULET = "Amulet.xml";
 
     /**
      * Get stage by difficulty.
@@ -145,15 +123,19 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
     private final CheckpointHandler checkpoint = services.create(CheckpointHandler.class);
     private final Hud hud = services.create(Hud.class);
     private final ScreenShaker shaker = services.create(ScreenShaker.class);
+    private final Optional<ComponentCollisionGrid> collisions;
     private final DeviceController device;
 
     private final Tick tick = new Tick();
-
-    private final BlockingDeque<Runnable> tasks = new LinkedBlockingDeque<>();
-    private final Thread task;
-    private volatile Audio audio;
+    private final List<MapTileStreamer> streamers = new ArrayList<>();
+    private final LoadPipeline pipeline = new LoadPipeline();
 
     private Landscape landscape;
+    private EntityStreamer entityStreamer;
+    private EntityActivation activation;
+    private PickupLayer pickups;
+    private SpawnPool pool;
+    private FixedStep step;
     private int trackerInitY;
     private double trackerY;
     private StateHandler player;
@@ -195,60 +177,163 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
 
         camera.setIntervals(Constant.CAMERA_HORIZONTAL_MARGIN, 0);
 
-        task = new Thread(() ->
+        final Settings settings = Settings.getInstance();
+        if (settings.getEntityGrid())
         {
-            while (!Thread.currentThread().isInterrupted())
-            {
-                try
-                {
-                    tasks.take().run();
-                }
-                catch (@SuppressWarnings("unused") final InterruptedException exception)
-                {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
-        }, World.class.getSimpleName());
-        task.start();
+            final ComponentCollisionGrid grid = new ComponentCollisionGrid();
+            services.getOptional(ComponentCollision.class).ifPresent(handler::removeComponent);
+            handler.addComponent(grid);
+            collisions = Optional.of(grid);
+        }
+        else
+        {
+            collisions = Optional.empty();
+        }
+        if (settings.getSimulationFixed())
+        {
+            step = new FixedStep(this::updateSimulation, camera, settings.getSimulationCatchUp());
+            handler.addListener(step);
+        }
     }
 
     /**
-     * Cache specific boss sfx.
+     * Load specific boss sfx in background.
      * 
      * @param stage The stage reference.
      */
-    private void cacheBossSfx(StageConfig stage)
+    private void loadBossSfx(StageConfig stage)
     {
         if (stage.getBoss().isPresent())
         {
             if (stage.getBackground() == BackgroundType.SWAMP_DAY)
             {
-                Sfx.cacheStart(Sfx.BOSS1_BOWL, Sfx.BOSS1_HURT);
+                Sfx.load(Sfx.BOSS1_BOWL, Sfx.BOSS1_HURT);
             }
             else if (stage.getBackground() == BackgroundType.LAVA)
             {
-                Sfx.cacheStart(Sfx.BOSS3_HURT, Sfx.BOSS3_JUMP);
+                Sfx.load(Sfx.BOSS3_HURT, Sfx.BOSS3_JUMP);
 
             }
             else if (stage.getBackground() == BackgroundType.NORKA)
             {
-                Sfx.cacheStart(Sfx.BOSS_DAEMON_FIRE,
-                               Sfx.BOSS_DAEMON_LAND,
-                               Sfx.BOSS_FLYER,
-                               Sfx.BOSS_NORKA_FIRE,
-                               Sfx.BOSS_NORKA_HURT,
-                               Sfx.BOSS_NORKA_PLATFORM);
+                Sfx.load(Sfx.BOSS_DAEMON_FIRE,
+                         Sfx.BOSS_DAEMON_LAND,
+                         Sfx.BOSS_FLYER,
+                         Sfx.BOSS_NORKA_FIRE,
+                         Sfx.BOSS_NORKA_HURT,
+                         Sfx.BOSS_NORKA_PLATFORM);
             }
         }
     }
 
+    /**
+     * Prepare the musics the stage can play.
+     * 
+     * @param stage The stage reference.
+     */
+    private void prefetchMusic(StageConfig stage)
+    {
+        final MusicService music = MusicService.getInstance();
+        music.prefetch(stage.getMusic());
+        if (stage.getBoss().isPresent())
+        {
+            music.prefetch(Music.BOSS);
+        }
+        if (stage.getEntities().stream().anyMatch(entity -> AMULET.equals(entity.getMedia().getName())))
+        {
+            music.prefetch(Music.SECRET_WIN);
+        }
+    }
+
+    /**
+     * Load map tiles data, streamed around camera if enabled.
+     * 
+     * @param map The map reference.
+     * @param data The map tiles data.
+     */
+    private void loadMapTiles(MapTile map, ByteBuffer data)
+    {
+        final Settings settings = Settings.getInstance();
+        if (settings.getMapStream())
+        {
+            final MapTileStreamer streamer = new MapTileStreamer(map, camera, settings.getMapStreamRadius());
+            streamer.load(data);
+            streamers.add(streamer);
+        }
+        else
+        {
+            pipeline.run("tiles", () -> map.getFeature(MapTilePersisterOptimized.class).load(data));
+        }
+        pipeline.run("collisions",
+                     () -> map.getFeature(MapTileCollision.class)
+                              .loadCollisions(Medias.create(Folder.LEVEL, CollisionFormulaConfig.FILENAME),
+                                              Medias.create(Folder.LEVEL, CollisionGroupConfig.FILENAME)));
+    }
+
+    /**
+     * Check if a streamed map chunk is being restored (its tiles already spawned their effects).
+     * 
+     * @return <code>true</code> if restoring, <code>false</code> else.
+     */
+    private boolean isMapRestoring()
+    {
+        final int n = streamers.size();
+        for (int i = 0; i < n; i++)
+        {
+            if (streamers.get(i).isRestoring())
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Update streamed maps around location.
+     * 
+     * @param x The horizontal location.
+     * @param y The vertical location.
+     */
+    private void updateMapStream(double x, double y)
+    {
+        final int n = streamers.size();
+        for (int i = 0; i < n; i++)
+        {
+            streamers.get(i).update(x, y);
+        }
+    }
+
+    /**
+     * Spawn streamed entities around location, if lazy spawn enabled.
+     * 
+     * @param x The horizontal location.
+     */
+    private void updateEntityStream(double x)
+    {
+        if (entityStreamer != null)
+        {
+            entityStreamer.update(x);
+        }
+    }
+
+    /**
+     * Update entities activation from camera, if sector activation enabled.
+     */
+    private void updateEntityActivation()
+    {
+        if (activation != null)
+        {
+            activation.update();
+        }
+    }
+
     /**
      * Load map from level.
      * 
      * @param config The stage config.
+     * @param preload The preloaded stage.
      */
-    private void loadMap(StageConfig config)
+    private void loadMap(StageConfig config, StagePreload preload)
     {
         final Media media = config.getMapFile();
         if (!media.exists())
@@ -276,11 +361,11 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
         final MapTileGroup mapGroup = map.getFeature(MapTileGroup.class);
         map.addListener(tile ->
         {
-            if (CollisionName.LIANA_TOP.equals(mapGroup.getGroup(tile)))
+            if (!isMapRestoring() && CollisionName.LIANA_TOP.equals(mapGroup.getGroup(tile)))
             {
                 spawn(Medias.create(Folder.EFFECT, "swamp", "Liana.xml"), tile);
             }
-            else if (CollisionName.BLOCK.equals(mapGroup.getGroup(tile)))
+            else if (!isMapRestoring() && CollisionName.BLOCK.equals(mapGroup.getGroup(tile)))
             {
                 spawn(Medias.create(Folder.EFFECT, "ancienttown", "Block.xml"), tile);
             }
@@ -289,14 +374,15 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
         final Optional<String> raster = config.getRasterFolder();
         if (Settings.getInstance().getRasterMap())
         {
-            raster.ifPresent(r -> map.getFeature(MapTileRastered.class)
-                                     .setRaster(Medias.create(r, Constant.RASTER_FILE_TILE),
-                                                config.getLinesPerRaster(),
-                                                config.getRasterLineOffset()));
+            raster.ifPresent(r -> pipeline.run("raster",
+                                               () -> map.getFeature(MapTileRastered.class)
+                                                        .setRaster(Medias.create(r, Constant.RASTER_FILE_TILE),
+                                                                   config.getLinesPerRaster(),
+                                                                   config.getRasterLineOffset())));
         }
         map.loadSheets(Medias.create(media.getParentPath(), TileSheetsConfig.FILENAME));
-        loadMapTiles(map, media);
-        loadMapBottom(config, media, raster);
+        loadMapTiles(map, preload.getMap(media));
+        loadMapBottom(config, media, raster, preload);
 
         createMapCollisionDebug();
     }
@@ -307,8 +393,9 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
      * @param config The stage config.
      * @param media The media reference.
      * @param raster The raster reference.
+     * @param preload The preloaded stage.
      */
-    private void loadMapBottom(StageConfig config, Media media, Optional<String> raster)
+    private void loadMapBottom(StageConfig config, Media media, Optional<String> raster, StagePreload preload)
     {
         final Media bottomRip = Medias.create(media.getPath().replace(Extension.MAP, "_bottom" + Extension.IMAGE));
         final Media bottom = Medias.create(media.getPath().replace(Extension.MAP, "_bottom" + Extension.MAP));
@@ -325,9 +412,9 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
             mapBottom.addFeature(new LayerableModel(4, 5));
             final MapTileViewer mapViewer = mapBottom.addFeatureAndGet(new MapTileViewerModel(services));
             mapBottom.loadSheets(Medias.create(media.getParentPath(), TileSheetsConfig.FILENAME));
-            loadMapTiles(mapBottom, bottom);
+            loadMapTiles(mapBottom, preload.getMap(bottom));
 
-            raster.ifPresent(r ->
+            raster.ifPresent(r -> pipeline.run("raster", () ->
             {
                 final MapTileRastered mapRaster = mapBottom.addFeatureAndGet(new MapTileRasteredModel());
                 if (mapRaster.loadSheets() && Settings.getInstance().getRasterMap())
@@ -338,7 +425,7 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
                                         config.getLinesPerRaster(),
                                         config.getRasterLineOffset());
                 }
-            });
+            }));
 
             handler.add(mapBottom);
             loadWaterRaster(config, raster, mapBottom, true);
@@ -364,7 +451,7 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
             final ForegroundType foreground = config.getForeground().getType();
             if (foreground == ForegroundType.WATER || foreground == ForegroundType.LAVA)
             {
-                raster.ifPresent(r ->
+                raster.ifPresent(r -> pipeline.run("raster", () ->
                 {
                     mapWater.create(r);
                     mapWater.addFeature(new LayerableModel(4, 3));
@@ -377,7 +464,7 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
                         mapWaterBottom.addFeature(new LayerableModel(4, 6));
                         handler.add(mapWaterBottom);
                     }
-                });
+                }));
             }
         }
     }
@@ -480,14 +567,21 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
      * @param stage The stage configuration.
      * @param entity The entity configuration.
      * @param entitiesRasters The rasters used.
+     * @return The created entity.
      */
-    private void createEntity(StageConfig stage, EntityConfig entity, HashMap<Media, Set<Integer>> entitiesRasters)
+    private Featurable createEntity(StageConfig stage,
+                                    EntityConfig entity,
+                                    HashMap<Media, Set<Integer>> entitiesRasters)
     {
         final Featurable featurable = spawn(entity.getMedia(), entity.getSpawnX(map), entity.getSpawnY(map));
         if (Difficulty.LIONHARD.equals(difficulty))
         {
             featurable.ifIs(Stats.class, Stats::initLionhard);
         }
+        if (activation != null && featurable.hasFeature(EntityModel.class))
+        {
+            activation.add(featurable);
+        }
         entity.getSecret().ifPresent(secret -> featurable.getFeature(EntityModel.class).setSecret(true));
         entity.getNext()
               .ifPresent(next -> featurable.getFeature(EntityModel.class).setNext(next, entity.getNextSpawn()));
@@ -522,6 +616,7 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
             featurable.ifIs(Underwater.class, underwater -> underwater.loadRaster(r));
             featurable.ifIs(BulletBounceOnGround.class, bullet -> bullet.loadRaster(r));
         });
+        return featurable;
     }
 
     /**
@@ -664,24 +759,69 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
     public void load(Media config, InitConfig init)
     {
         services.add(config);
-        final StageConfig stage = services.add(StageConfig.imports(new Configurer(config)));
+        final LoadProbe wait = LoadProbe.start();
+        final StagePreload preload = StagePreload.take(config);
+        pipeline.add("preload", wait.stop());
+        preload.report(pipeline);
+        final StageConfig stage = services.add(preload.getConfig());
 
-        cacheBossSfx(stage);
+        pipeline.run("sfx", () -> loadBossSfx(stage));
+        pipeline.run("music", () -> prefetchMusic(stage));
 
-        Util.run(stage.getBackground());
-
-        loadMap(stage);
-
-        final Settings settings = Settings.getInstance();
         final FactoryLandscape factoryLandscape = new FactoryLandscape(services,
                                                                        source,
-                                                                       settings.getBackgroundFlicker());
-        landscape = services.add(factoryLandscape.createLandscape(stage.getBackground(), stage.getForeground()));
+                                                                       Settings.getInstance().getBackgroundFlicker());
+        final CompletableFuture<Background> background;
+        background = pipeline.fork("background", () -> factoryLandscape.createBackground(stage.getBackground()));
+        pipeline.fork("hud", () ->
+        {
+            hud.load();
+            return hud;
+        });
+
+        pipeline.run("map", () -> loadMap(stage, preload));
+        collisions.ifPresent(grid -> grid.load(map));
+        pipeline.run("landscape",
+                     () -> landscape = services.add(factoryLandscape.createLandscape(background.join(),
+                                                                                     stage.getForeground())),
+                     background);
 
         difficulty = init.getDifficulty();
         cheats = init.isCheats();
-        createPlayerAndLoadCheckpoints(init, stage);
+        pipeline.run("player", () ->
+        {
+            createPlayerAndLoadCheckpoints(init, stage);
 
+            final Transformable transformable = player.getFeature(Transformable.class);
+            updateMapStream(transformable.getX(), transformable.getY());
+        });
+        pipeline.run("entities", () -> loadEntities(stage));
+        pipeline.run("cache", () ->
+        {
+            final String theme = stage.getBackground().getWorld().getFolder();
+            pool = new SpawnPool(config);
+            pool.createCache(factory, spawner, Medias.create(Folder.EFFECT, theme), 4);
+            pool.createCache(factory, spawner, Medias.create(Folder.PROJECTILE, theme), 6);
+        });
+        pipeline.join(config);
+
+        handler.updateRemove();
+        handler.updateAdd();
+        pool.release(handler);
+        handler.addListener(pool);
+
+        tick.restart();
+    }
+
+    /**
+     * Load stage entities with their rasters. With lazy spawn, only always updated entities are created now, others
+     * are created when camera comes near.
+     * 
+     * @param stage The stage configuration.
+     */
+    private void loadEntities(StageConfig stage)
+    {
+        final Settings settings = Settings.getInstance();
         if (settings.getRasterObject())
         {
             stage.getRasterFolder().ifPresent(r ->
@@ -689,25 +829,64 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
                 final Media rasterMedia = Medias.create(r, Constant.RASTER_FILE_TILE);
                 if (rasterMedia.exists())
                 {
-                    spawner.setRaster(rasterMedia);
+                    pipeline.run("raster", () -> spawner.setRaster(rasterMedia));
                 }
             });
         }
 
         final HashMap<Media, Set<Integer>> entitiesRasters = new HashMap<>();
-        stage.getEntities().forEach(entity -> createEntity(stage, entity, entitiesRasters));
-
-        final String theme = stage.getBackground().getWorld().getFolder();
-        factory.createCache(spawner, Medias.create(Folder.EFFECT, theme), 4);
-        factory.createCache(spawner, Medias.create(Folder.PROJECTILE, theme), 6);
-
-        hud.load();
-        handler.updateRemove();
-        handler.updateAdd();
-
-        Sfx.cacheEnd();
+        if (settings.getEntityPickup() && !(settings.getRasterObject() && stage.getRasterFolder().isPresent()))
+        {
+            pickups = new PickupLayer(map, camera, spawner);
+            pickups.addFeature(new LayerableModel(3, 5));
+            pickups.setPlayer(player.getFeature(Transformable.class));
+            handler.add(pickups);
+        }
+        if (settings.getEntitySector() > 0)
+        {
+            activation = new EntityActivation(map, camera, settings.getEntitySector());
+        }
+        if (settings.getEntityLazy())
+        {
+            entityStreamer = new EntityStreamer(map,
+                                                camera,
+                                                entity -> createEntity(stage, entity, entitiesRasters),
+                                                settings.getEntityMargin(),
+                                                settings.getEntityDespawn());
+        }
+        for (final EntityConfig entity : stage.getEntities())
+        {
+            if (pickups != null && PickupLayer.isPickup(entity.getDefinition()))
+            {
+                pickups.add(entity);
+            }
+            else if (entityStreamer != null && !entity.getDefinition().isAlwaysUpdate())
+            {
+                entityStreamer.add(entity);
+            }
+            else
+            {
+                createEntity(stage, entity, entitiesRasters);
+            }
+        }
+        updateEntityStream(player.getFeature(Transformable.class).getX());
+        updateEntityActivation();
+        Verbose.info("Entity definitions cache: ",
+                     String.valueOf(EntityDefinition.getHits()),
+                     " hits, ",
+                     String.valueOf(EntityDefinition.getMisses()),
+                     " misses");
+    }
 
-        tick.restart();
+    /**
+     * Save effects and projectiles pools peak use.
+     */
+    public void savePool()
+    {
+        if (pool != null)
+        {
+            pool.save();
+        }
     }
 
     @Override
@@ -730,43 +909,13 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
     @Override
     public void playMusic(Media media)
     {
-        tasks.offer(() ->
-        {
-            if (audio != null)
-            {
-                audio.stop();
-            }
-            audio = AudioFactory.loadAudio(media);
-
-            final Settings settings = Settings.getInstance();
-            if (settings.getVolumeMaster() > 0)
-            {
-                audio.setVolume(settings.getVolumeMusic());
-                audio.play();
-            }
-        });
+        MusicService.getInstance().playMusic(media);
     }
 
     @Override
     public void stopMusic()
     {
-        if (audio != null)
-        {
-            task.interrupt();
-            audio.stop();
-
-            try
-            {
-                task.join(com.b3dgs.lionengine.Constant.HUNDRED);
-            }
-            catch (final InterruptedException exception)
-            {
-                Thread.currentThread().interrupt();
-                Verbose.exception(exception);
-            }
-            tasks.clear();
-            audio = null;
-        }
+        MusicService.getInstance().stopMusic();
     }
 
     @Override
@@ -779,26 +928,58 @@ final class World extends WorldHelper implements MusicPlayer, LoadNextStage
 
         if (!paused)
         {
-            tick.update(extrp);
-            shaker.update(extrp);
-            super.update(extrp);
-            checkpoint.update(extrp);
-            landscape.update(extrp, camera);
-            if (trackerY > 0)
+            if (step != null)
             {
-                trackerY = UtilMath.clamp(trackerY += 0.5, 0.0, 21.0);
-                tracker.setOffset(0, trackerInitY + (int) Math.floor(trackerY));
+                step.update(extrp);
+            }
+            else
+            {
+                updateSimulation(extrp);
             }
         }
         hud.update(extrp);
     }
 
+    /**
+     * Update simulation, by frame or by fixed step.
+     * 
+     * @param extrp The extrapolation value.
+     */
+    private void updateSimulation(double extrp)
+    {
+        tick.update(extrp);
+        shaker.update(extrp);
+        updateEntityActivation();
+        super.update(extrp);
+        updateMapStream(camera.getX() + camera.getWidth() / 2.0, camera.getY() + camera.getHeight() / 2.0);
+        updateEntityStream(camera.getX() + camera.getWidth() / 2.0);
+        if (pickups != null)
+        {
+            pickups.update(extrp);
+        }
+        checkpoint.update(extrp);
+        landscape.update(extrp, camera);
+        if (trackerY > 0)
+        {
+            trackerY = UtilMath.clamp(trackerY += 0.5, 0.0, 21.0);
+            tracker.setOffset(0, trackerInitY + (int) Math.floor(trackerY));
+        }
+    }
+
     @Override
     public void render(Graphic g)
     {
+        if (step != null)
+        {
+            step.interpolate();
+        }
         landscape.renderBackground(g);
         super.render(g);
         landscape.renderForeground(g);
+        if (step != null)
+        {
+            step.restore();
+        }
         hud.render(g);
     }
 
@@ -27,12 +27,16 @@ public final class Extension
     public static final String IMAGE = ".png";
     /** Stages file extension (with dot). */
     public static final String STAGE = ".xml";
+    /** Compiled stages file extension (with dot). */
+    public static final String STAGE_BINARY = ".bin";
     /** Map file extension (with dot). */
     public static final String MAP = ".lvl";
     /** Sounds file extension (with dot). */
     public static final String SFX = ".wav";
     /** Musics file extension (with dot). */
     public static final String MUSIC = ".sc68";
+    /** Pre-rendered musics file extension (with dot). */
+    public static final String MUSIC_RENDERED = ".wav.gz";
 
     /**
      * Private constructor.
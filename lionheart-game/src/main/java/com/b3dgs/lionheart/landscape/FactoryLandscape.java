@@ -65,7 +65,18 @@ public final class FactoryLandscape
      */
     public Landscape createLandscape(BackgroundType backgroundType, ForegroundConfig foregroundConfig)
     {
-        final Background background = createBackground(backgroundType);
+        return createLandscape(createBackground(backgroundType), foregroundConfig);
+    }
+
+    /**
+     * Create a landscape from an existing background.
+     * 
+     * @param background The background reference.
+     * @param foregroundConfig The foreground configuration.
+     * @return The created landscape.
+     */
+    public Landscape createLandscape(Background background, ForegroundConfig foregroundConfig)
+    {
         final ForegroundType foregroundType = foregroundConfig.getType();
         final Foreground foreground;
         if (ForegroundType.NONE == foregroundType)
@@ -87,12 +98,12 @@ public final class FactoryLandscape
     }
 
     /**
-     * Create a background.
+     * Create a background. Does not access services, can be called from any thread.
      * 
      * @param backgroundType The background type.
      * @return The created background.
      */
-    private Background createBackground(BackgroundType backgroundType)
+    public Background createBackground(BackgroundType backgroundType)
     {
         final Background background;
         final WorldType world = backgroundType.getWorld();
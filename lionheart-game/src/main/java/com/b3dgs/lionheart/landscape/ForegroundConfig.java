@@ -21,6 +21,7 @@ import java.util.OptionalInt;
 
 import com.b3dgs.lionengine.Check;
 import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.XmlReader;
 import com.b3dgs.lionengine.game.Configurer;
 
 /**
@@ -57,6 +58,20 @@ public final class ForegroundConfig
         return new ForegroundConfig(root);
     }
 
+    /**
+     * Imports the config from foreground node.
+     * 
+     * @param node The foreground node reference (must not be <code>null</code>).
+     * @return The config data.
+     * @throws LionEngineException If unable to read node.
+     */
+    public static ForegroundConfig imports(XmlReader node)
+    {
+        Check.notNull(node);
+
+        return new ForegroundConfig(node);
+    }
+
     /** Foreground type. */
     private final ForegroundType type;
     /** Water depth value. */
@@ -90,6 +105,26 @@ public final class ForegroundConfig
         waterRaise = root.getIntegerDefault(0, ATT_WATER_RAISE, NODE_FOREGROUND);
     }
 
+    /**
+     * Create config.
+     * 
+     * @param node The foreground node reference (must not be <code>null</code>).
+     * @throws LionEngineException If unable to read node.
+     */
+    private ForegroundConfig(XmlReader node)
+    {
+        super();
+
+        Check.notNull(node);
+
+        type = ForegroundType.valueOf(node.readString(ATT_FOREGROUND_TYPE));
+        waterDepth = node.readIntegerOptional(ATT_WATER_DEPTH);
+        waterOffset = node.readIntegerOptional(ATT_WATER_OFFSET);
+        waterSpeed = node.readDoubleOptional(ATT_WATER_SPEED);
+        waterEffect = node.readBooleanOptional(ATT_WATER_EFFECT).orElse(Boolean.TRUE).booleanValue();
+        waterRaise = node.readInteger(0, ATT_WATER_RAISE);
+    }
+
     /**
      * Get the foreground type.
      * 
@@ -29,7 +29,6 @@ import com.b3dgs.lionengine.Origin;
 import com.b3dgs.lionengine.UtilMath;
 import com.b3dgs.lionengine.audio.Audio;
 import com.b3dgs.lionengine.audio.AudioFactory;
-import com.b3dgs.lionengine.game.Configurer;
 import com.b3dgs.lionengine.game.feature.Services;
 import com.b3dgs.lionengine.graphic.ColorRgba;
 import com.b3dgs.lionengine.graphic.Graphic;
@@ -374,7 +373,7 @@ public class Menu extends Sequence
                 break;
             case NEW:
                 final Media stage = difficulty > 0 ? StageHard.STAGE1 : Stage.STAGE1;
-                final StageConfig config = StageConfig.imports(new Configurer(stage));
+                final StageConfig config = StageConfig.imports(stage);
                 end(ScenePicture.class, stage, getInitConfig(), config.getPic().get(), config.getText().get());
                 break;
             case OPTIONS:
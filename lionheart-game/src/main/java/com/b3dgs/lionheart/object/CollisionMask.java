@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart.object;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.game.feature.collidable.Collision;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionCategory;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionFormula;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionResult;
+import com.b3dgs.lionheart.constant.Anim;
+import com.b3dgs.lionheart.constant.CollisionName;
+
+/**
+ * Collision names flags, computed once per name instead of matching strings on each collision.
+ * <p>
+ * Names of tile formulas, tile collision categories and entity collisions are interned on first use into a mask of
+ * the flags below, so checks become integer operations. Prefix flags match {@link String#startsWith(String)}, suffix
+ * flags {@link String#endsWith(String)} and contains flags {@link String#contains(CharSequence)}.
+ * </p>
+ * <p>
+ * Masks are kept by name, as names are few and shared by all formulas, categories and collisions instances, so interned
+ * masks do not grow with entities count. Checks then only read the names map, with the name cached hash.
+ * </p>
+ */
+public final class CollisionMask
+{
+    /** Ground prefix. */
+    public static final int GROUND = 1;
+    /** Leg prefix. */
+    public static final int LEG = 1 << 1;
+    /** Knee prefix. */
+    public static final int KNEE = 1 << 2;
+    /** Knee first prefix. */
+    public static final int KNEE_1 = 1 << 3;
+    /** Knee center name. */
+    public static final int KNEE_CENTER = 1 << 4;
+    /** Knee x center prefix. */
+    public static final int KNEE_X_CENTER = 1 << 5;
+    /** Hand prefix. */
+    public static final int HAND = 1 << 6;
+    /** Head prefix. */
+    public static final int HEAD = 1 << 7;
+    /** Body prefix. */
+    public static final int BODY = 1 << 8;
+    /** Attack prefix. */
+    public static final int ATTACK = 1 << 9;
+    /** Attack fall prefix. */
+    public static final int ATTACK_FALL = 1 << 10;
+    /** Spike prefix. */
+    public static final int SPIKE = 1 << 11;
+    /** Slope prefix. */
+    public static final int SLOPE = 1 << 12;
+    /** Incline prefix. */
+    public static final int INCLINE = 1 << 13;
+    /** Steep prefix. */
+    public static final int STEEP = 1 << 14;
+    /** Grip prefix. */
+    public static final int GRIP = 1 << 15;
+    /** Liana prefix. */
+    public static final int LIANA = 1 << 16;
+    /** Left suffix. */
+    public static final int LEFT = 1 << 17;
+    /** Right suffix. */
+    public static final int RIGHT = 1 << 18;
+    /** Left vertical suffix. */
+    public static final int LEFT_VERTICAL = 1 << 19;
+    /** Right vertical suffix. */
+    public static final int RIGHT_VERTICAL = 1 << 20;
+    /** Contains left. */
+    public static final int HAS_LEFT = 1 << 21;
+    /** Contains right. */
+    public static final int HAS_RIGHT = 1 << 22;
+    /** Contains left vertical. */
+    public static final int HAS_LEFT_VERTICAL = 1 << 23;
+    /** Contains right vertical. */
+    public static final int HAS_RIGHT_VERTICAL = 1 << 24;
+    /** Contains spike. */
+    public static final int HAS_SPIKE = 1 << 25;
+    /** Contains leg. */
+    public static final int HAS_LEG = 1 << 26;
+    /** Contains body. */
+    public static final int HAS_BODY = 1 << 27;
+    /** Contains ground. */
+    public static final int HAS_GROUND = 1 << 28;
+    /** Contains slope. */
+    public static final int HAS_SLOPE = 1 << 29;
+    /** Contains incline. */
+    public static final int HAS_INCLINE = 1 << 30;
+    /** Contains block. */
+    public static final int HAS_BLOCK = 1 << 31;
+
+    /** Interned masks by name. */
+    private static final Map<String, Integer> MASKS = new ConcurrentHashMap<>();
+
+    /**
+     * Get collision mask, interned on first call for its name.
+     * 
+     * @param collision The entity collision.
+     * @return The collision mask.
+     */
+    public static int get(Collision collision)
+    {
+        return get(collision.getName());
+    }
+
+    /**
+     * Get category mask, interned on first call for its name.
+     * 
+     * @param category The tile collision category.
+     * @return The category mask.
+     */
+    public static int get(CollisionCategory category)
+    {
+        return get(category.getName());
+    }
+
+    /**
+     * Get name mask, interned on first call.
+     * 
+     * @param name The collision name.
+     * @return The name mask.
+     */
+    private static int get(String name)
+    {
+        Integer mask = MASKS.get(name);
+        if (mask == null)
+        {
+            mask = Integer.valueOf(compute(name));
+            MASKS.put(name, mask);
+        }
+        return mask.intValue();
+    }
+
+    /**
+     * Get horizontal formula mask.
+     * 
+     * @param result The collision result.
+     * @return The horizontal formula mask, <code>0</code> if none.
+     */
+    public static int getX(CollisionResult result)
+    {
+        return get(result.getFormulaX());
+    }
+
+    /**
+     * Get vertical formula mask.
+     * 
+     * @param result The collision result.
+     * @return The vertical formula mask, <code>0</code> if none.
+     */
+    public static int getY(CollisionResult result)
+    {
+        return get(result.getFormulaY());
+    }
+
+    /**
+     * Get both formulas mask.
+     * 
+     * @param result The collision result.
+     * @return The formulas mask, <code>0</code> if none.
+     */
+    public static int get(CollisionResult result)
+    {
+        return getX(result) | getY(result);
+    }
+
+    /**
+     * Check if mask has one of flags.
+     * 
+     * @param mask The mask to check.
+     * @param flags The flags to find.
+     * @return <code>true</code> if at least one flag is set, <code>false</code> else.
+     */
+    public static boolean is(int mask, int flags)
+    {
+        return (mask & flags) != 0;
+    }
+
+    /**
+     * Get formula mask.
+     * 
+     * @param formula The formula (can be <code>null</code>).
+     * @return The formula mask, <code>0</code> if none.
+     */
+    private static int get(CollisionFormula formula)
+    {
+        if (formula == null)
+        {
+            return 0;
+        }
+        return get(formula.getName());
+    }
+
+    /**
+     * Compute name mask.
+     * 
+     * @param name The collision name.
+     * @return The name mask.
+     */
+    private static int compute(String name)
+    {
+        int mask = 0;
+        mask |= flag(name.startsWith(CollisionName.GROUND), GROUND);
+        mask |= flag(name.startsWith(CollisionName.LEG), LEG);
+        mask |= flag(name.startsWith(CollisionName.KNEE), KNEE);
+        mask |= flag(name.startsWith(CollisionName.KNEE + "_1"), KNEE_1);
+        mask |= flag(name.equals(CollisionName.KNEE_CENTER), KNEE_CENTER);
+        mask |= flag(name.startsWith(CollisionName.KNEE_X_CENTER), KNEE_X_CENTER);
+        mask |= flag(name.startsWith(CollisionName.HAND), HAND);
+        mask |= flag(name.startsWith(CollisionName.HEAD), HEAD);
+        mask |= flag(name.startsWith(CollisionName.BODY), BODY);
+        mask |= flag(name.startsWith(Anim.ATTACK), ATTACK);
+        mask |= flag(name.startsWith(Anim.ATTACK_FALL), ATTACK_FALL);
+        mask |= flag(name.startsWith(CollisionName.SPIKE), SPIKE);
+        mask |= flag(name.startsWith(CollisionName.SLOPE), SLOPE);
+        mask |= flag(name.startsWith(CollisionName.INCLINE), INCLINE);
+        mask |= flag(name.startsWith(CollisionName.STEEP), STEEP);
+        mask |= flag(name.startsWith(CollisionName.GRIP), GRIP);
+        mask |= flag(name.startsWith(CollisionName.LIANA), LIANA);
+        mask |= flag(name.endsWith(CollisionName.LEFT), LEFT);
+        mask |= flag(name.endsWith(CollisionName.RIGHT), RIGHT);
+        mask |= flag(name.endsWith(CollisionName.LEFT_VERTICAL), LEFT_VERTICAL);
+        mask |= flag(name.endsWith(CollisionName.RIGHT_VERTICAL), RIGHT_VERTICAL);
+        mask |= flag(name.contains(CollisionName.LEFT), HAS_LEFT);
+        mask |= flag(name.contains(CollisionName.RIGHT), HAS_RIGHT);
+        mask |= flag(name.contains(CollisionName.LEFT_VERTICAL), HAS_LEFT_VERTICAL);
+        mask |= flag(name.contains(CollisionName.RIGHT_VERTICAL), HAS_RIGHT_VERTICAL);
+        mask |= flag(name.contains(CollisionName.SPIKE), HAS_SPIKE);
+        mask |= flag(name.contains(CollisionName.LEG), HAS_LEG);
+        mask |= flag(name.contains(CollisionName.BODY), HAS_BODY);
+        mask |= flag(name.contains(CollisionName.GROUND), HAS_GROUND);
+        mask |= flag(name.contains(CollisionName.SLOPE), HAS_SLOPE);
+        mask |= flag(name.contains(CollisionName.INCLINE), HAS_INCLINE);
+        mask |= flag(name.contains(CollisionName.BLOCK), HAS_BLOCK);
+        return mask;
+    }
+
+    /**
+     * Get flag if condition.
+     * 
+     * @param condition The condition.
+     * @param flag The flag.
+     * @return The flag if condition, <code>0</code> else.
+     */
+    private static int flag(boolean condition, int flag)
+    {
+        if (condition)
+        {
+            return flag;
+        }
+        return 0;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private CollisionMask()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
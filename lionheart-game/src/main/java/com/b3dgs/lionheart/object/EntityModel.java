@@ -41,7 +41,6 @@ import com.b3dgs.lionengine.game.feature.body.BodyConfig;
 import com.b3dgs.lionengine.game.feature.collidable.Collidable;
 import com.b3dgs.lionengine.game.feature.rasterable.Rasterable;
 import com.b3dgs.lionengine.game.feature.state.State;
-import com.b3dgs.lionengine.game.feature.state.StateHandler;
 import com.b3dgs.lionengine.game.feature.tile.map.MapTile;
 import com.b3dgs.lionengine.geom.Coord;
 import com.b3dgs.lionengine.graphic.engine.SourceResolutionProvider;
@@ -49,18 +48,12 @@ import com.b3dgs.lionengine.helper.EntityChecker;
 import com.b3dgs.lionengine.helper.EntityModelHelper;
 import com.b3dgs.lionheart.CheckpointHandler;
 import com.b3dgs.lionheart.Constant;
+import com.b3dgs.lionheart.EntityActivation;
 import com.b3dgs.lionheart.object.feature.BulletBounceOnGround;
 import com.b3dgs.lionheart.object.feature.Floater;
 import com.b3dgs.lionheart.object.feature.Guard;
 import com.b3dgs.lionheart.object.feature.Patrol;
 import com.b3dgs.lionheart.object.feature.SwordShade;
-import com.b3dgs.lionheart.object.state.StateHurt;
-import com.b3dgs.lionheart.object.state.StateIdleAnimal;
-import com.b3dgs.lionheart.object.state.StateIdleDragon;
-import com.b3dgs.lionheart.object.state.StateLianaSlide;
-import com.b3dgs.lionheart.object.state.StateSlide;
-import com.b3dgs.lionheart.object.state.attack.StateAttackAnimal;
-import com.b3dgs.lionheart.object.state.attack.StateAttackDragon;
 
 /**
  * Entity model implementation.
@@ -68,7 +61,9 @@ import com.b3dgs.lionheart.object.state.attack.StateAttackDragon;
 @FeatureInterface
 public final class EntityModel extends EntityModelHelper implements Routine, Recyclable
 {
-    private static final String NODE_ALWAYS_UPDATE = "alwaysUpdate";
+    /** Always update node name. */
+    public static final String NODE_ALWAYS_UPDATE = "alwaysUpdate";
+
     private static final int SECRET_RANGE = 48;
     private static final int PREFIX = State.class.getSimpleName().length();
 
@@ -91,6 +86,7 @@ public final class EntityModel extends EntityModelHelper implements Routine, Rec
     private final CameraTracker tracker = services.get(CameraTracker.class);
     private final SourceResolutionProvider source = services.get(SourceResolutionProvider.class);
     private final Spawner spawner = services.get(Spawner.class);
+    private final StateCollision stateCollision = new StateCollision();
     private final boolean hasGravity = setup.hasNode(BodyConfig.NODE_BODY);
     private final int frames;
     private Transformable player;
@@ -98,12 +94,14 @@ public final class EntityModel extends EntityModelHelper implements Routine, Rec
     private Optional<String> next = Optional.empty();
     private Optional<Coord> nextSpawn = Optional.empty();
     private boolean jumpOnHurt = true;
+    private boolean mirrorFeature;
+    private boolean mirrorState = true;
+    private EntityActivation.Entry activation;
 
     @FeatureGet private Body body;
     @FeatureGet private Mirrorable mirrorable;
     @FeatureGet private Transformable transformable;
     @FeatureGet private Collidable collidable;
-    @FeatureGet private StateHandler state;
     @FeatureGet private Identifiable identifiable;
     @FeatureGet private Rasterable rasterable;
 
@@ -137,10 +135,12 @@ public final class EntityModel extends EntityModelHelper implements Routine, Rec
                                                 .booleanValue();
 
             checker.setCheckerUpdate(() -> alwaysUpdate
-                                           || camera.isViewable(transformable,
-                                                                transformable.getWidth(),
-                                                                transformable.getHeight()));
+                                           || isActive()
+                                              && camera.isViewable(transformable,
+                                                                   transformable.getWidth(),
+                                                                   transformable.getHeight()));
             checker.setCheckerRender(() -> !secret
+                                           && isActive()
                                            && camera.isViewable(transformable, 0, transformable.getHeight() * 2));
         }
         else
@@ -158,6 +158,8 @@ public final class EntityModel extends EntityModelHelper implements Routine, Rec
         jump.setDestination(0.0, 0.0);
 
         collidable.setCollisionVisibility(Constant.DEBUG);
+
+        resolveMirrorFeature();
     }
 
     /**
@@ -170,6 +172,26 @@ public final class EntityModel extends EntityModelHelper implements Routine, Rec
         this.secret = secret;
     }
 
+    /**
+     * Set the sector activation, entity view is then only checked when its sector is active.
+     * 
+     * @param activation The activation entry.
+     */
+    public void setActivation(EntityActivation.Entry activation)
+    {
+        this.activation = activation;
+    }
+
+    /**
+     * Check if entity sector is active.
+     * 
+     * @return <code>true</code> if active or without sector activation, <code>false</code> else.
+     */
+    private boolean isActive()
+    {
+        return activation == null || activation.isActive();
+    }
+
     /**
      * Set the next stage.
      * 
@@ -182,6 +204,28 @@ public final class EntityModel extends EntityModelHelper implements Routine, Rec
         this.nextSpawn = nextSpawn;
     }
 
+    /**
+     * Set current state mirror policy.
+     * 
+     * @param mirrorState <code>true</code> if current state allows mirror from movement, <code>false</code> else.
+     */
+    public void setMirrorState(boolean mirrorState)
+    {
+        this.mirrorState = mirrorState;
+    }
+
+    /**
+     * Resolve features mirror policy on prepare, as features do not change: entities moved by a feature control their
+     * mirror.
+     */
+    private void resolveMirrorFeature()
+    {
+        mirrorFeature = !hasFeature(Patrol.class)
+                        && !hasFeature(BulletBounceOnGround.class)
+                        && !hasFeature(Guard.class)
+                        && !hasFeature(Floater.class);
+    }
+
     /**
      * Update mirror depending of current mirror and movement.
      * 
@@ -189,17 +233,7 @@ public final class EntityModel extends EntityModelHelper implements Routine, Rec
      */
     private void updateMirror(double extrp)
     {
-        if (!hasFeature(Patrol.class)
-            && !hasFeature(BulletBounceOnGround.class)
-            && !hasFeature(Guard.class)
-            && !hasFeature(Floater.class)
-            && !state.isState(StateHurt.class)
-            && !state.isState(StateSlide.class)
-            && !state.isState(StateLianaSlide.class)
-            && !state.isState(StateIdleAnimal.class)
-            && !state.isState(StateAttackAnimal.class)
-            && !state.isState(StateIdleDragon.class)
-            && !state.isState(StateAttackDragon.class))
+        if (mirrorFeature && mirrorState)
         {
             if (mirrorable.is(Mirror.NONE) && movement.getDirectionHorizontal() < 0.0)
             {
@@ -220,6 +254,10 @@ public final class EntityModel extends EntityModelHelper implements Routine, Rec
         movement.update(extrp);
         transformable.moveLocation(extrp, body, movement, jump);
         updateMirror(extrp);
+        if (activation != null)
+        {
+            activation.move(transformable.getX());
+        }
 
         if (transformable.getX() < -source.getWidth()
             || transformable.getX() > map.getWidth() + source.getWidth()
@@ -315,6 +353,16 @@ public final class EntityModel extends EntityModelHelper implements Routine, Rec
         return tracker;
     }
 
+    /**
+     * Get the collisions forwarding to current state.
+     * 
+     * @return The collisions forwarding.
+     */
+    StateCollision getStateCollision()
+    {
+        return stateCollision;
+    }
+
     /**
      * Get the movement force.
      * 
@@ -18,7 +18,6 @@ package com.b3dgs.lionheart.object;
 
 import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionCategory;
 import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionResult;
-import com.b3dgs.lionheart.constant.CollisionName;
 
 /**
  * Liana gameplay checker.
@@ -89,15 +88,16 @@ public final class GameplayLiana
      */
     public void onCollideHand(CollisionResult result, CollisionCategory category)
     {
-        if (result.startWithY(CollisionName.LIANA))
+        final int formula = CollisionMask.getY(result);
+        if (CollisionMask.is(formula, CollisionMask.LIANA))
         {
             liana = true;
-            if (result.containsY(CollisionName.LEFT))
+            if (CollisionMask.is(formula, CollisionMask.HAS_LEFT))
             {
                 side = -1;
                 lianaLeft = true;
             }
-            else if (result.containsY(CollisionName.RIGHT))
+            else if (CollisionMask.is(formula, CollisionMask.HAS_RIGHT))
             {
                 side = 1;
                 lianaRight = true;
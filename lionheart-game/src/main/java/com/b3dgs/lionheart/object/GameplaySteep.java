@@ -18,7 +18,6 @@ package com.b3dgs.lionheart.object;
 
 import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionCategory;
 import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionResult;
-import com.b3dgs.lionheart.constant.CollisionName;
 
 /**
  * Steep gameplay checker.
@@ -89,15 +88,16 @@ public final class GameplaySteep
      */
     public void onCollideLeg(CollisionResult result, CollisionCategory category)
     {
-        if (result.startWithY(CollisionName.STEEP))
+        final int formula = CollisionMask.getY(result);
+        if (CollisionMask.is(formula, CollisionMask.STEEP))
         {
-            if (result.endWithY(CollisionName.LEFT))
+            if (CollisionMask.is(formula, CollisionMask.LEFT))
             {
                 side = -1;
                 steep = true;
                 steepLeft = true;
             }
-            else if (result.endWithY(CollisionName.RIGHT))
+            else if (CollisionMask.is(formula, CollisionMask.RIGHT))
             {
                 side = 1;
                 steep = true;
@@ -23,6 +23,7 @@ import com.b3dgs.lionengine.Animation;
 import com.b3dgs.lionengine.game.Force;
 import com.b3dgs.lionengine.game.feature.Transformable;
 import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.collidable.CollidableListener;
 import com.b3dgs.lionengine.game.feature.collidable.Collision;
 import com.b3dgs.lionengine.game.feature.tile.map.collision.Axis;
 import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionCategory;
@@ -30,8 +31,6 @@ import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionResult;
 import com.b3dgs.lionengine.game.feature.tile.map.collision.TileCollidableListener;
 import com.b3dgs.lionengine.helper.StateHelper;
 import com.b3dgs.lionheart.DeviceMapping;
-import com.b3dgs.lionheart.constant.Anim;
-import com.b3dgs.lionheart.constant.CollisionName;
 import com.b3dgs.lionheart.object.feature.Glue;
 import com.b3dgs.lionheart.object.feature.Stats;
 
@@ -63,10 +62,14 @@ public abstract class State extends StateHelper<EntityModel>
     protected final GameplaySteep steep = new GameplaySteep();
     /** Liana gameplay. */
     protected final GameplayLiana liana = new GameplayLiana();
-    /** Tile collidable listener. */
+    /** Collidable listener, forwarded by entity while state is current. */
+    private final CollidableListener listenerCollidable = this::onCollided;
+    /** Tile collidable listener, forwarded by entity while state is current. */
     private final TileCollidableListener listenerTileCollidable;
     /** Win flag. */
     private final BooleanSupplier win;
+    /** Mirror from movement allowed flag. */
+    private boolean mirrorAuto = true;
 
     /**
      * Create the state.
@@ -91,24 +94,25 @@ public abstract class State extends StateHelper<EntityModel>
 
         listenerTileCollidable = (result, category) ->
         {
+            final int mask = CollisionMask.get(category);
             if (Axis.X == category.getAxis())
             {
-                if (category.getName().startsWith(CollisionName.KNEE))
+                if (CollisionMask.is(mask, CollisionMask.KNEE))
                 {
                     onCollideKnee(result, category);
                 }
             }
             else if (Axis.Y == category.getAxis())
             {
-                if (!liana.is() && category.getName().startsWith(CollisionName.LEG))
+                if (!liana.is() && CollisionMask.is(mask, CollisionMask.LEG))
                 {
                     onCollideLeg(result, category);
                 }
-                else if (category.getName().startsWith(CollisionName.HAND))
+                else if (CollisionMask.is(mask, CollisionMask.HAND))
                 {
                     onCollideHand(result, category);
                 }
-                else if (category.getName().startsWith(CollisionName.HEAD))
+                else if (CollisionMask.is(mask, CollisionMask.HEAD))
                 {
                     onCollideHead(result, category);
                 }
@@ -116,6 +120,16 @@ public abstract class State extends StateHelper<EntityModel>
         };
     }
 
+    /**
+     * Set mirror from movement flag, when state controls its own mirror.
+     * 
+     * @param mirrorAuto <code>true</code> to allow mirror from movement, <code>false</code> else.
+     */
+    protected final void setMirrorAuto(boolean mirrorAuto)
+    {
+        this.mirrorAuto = mirrorAuto;
+    }
+
     /**
      * Called when a tile collision occurred on horizontal axis with knee.
      * 
@@ -124,23 +138,25 @@ public abstract class State extends StateHelper<EntityModel>
      */
     protected void onCollideKnee(CollisionResult result, CollisionCategory category)
     {
+        final int formula = CollisionMask.getX(result);
         collideX.set(true);
-        if (result.endWithX(CollisionName.LEFT_VERTICAL))
+        if (CollisionMask.is(formula, CollisionMask.LEFT_VERTICAL))
         {
             collideXright.set(true);
         }
-        if (result.endWithX(CollisionName.RIGHT_VERTICAL))
+        if (CollisionMask.is(formula, CollisionMask.RIGHT_VERTICAL))
         {
             collideXleft.set(true);
         }
 
-        if (movement.getDirectionHorizontal() < 0 && result.endWithX(CollisionName.RIGHT_VERTICAL)
-            || movement.getDirectionHorizontal() > 0 && result.endWithX(CollisionName.LEFT_VERTICAL))
+        if (movement.getDirectionHorizontal() < 0 && CollisionMask.is(formula, CollisionMask.RIGHT_VERTICAL)
+            || movement.getDirectionHorizontal() > 0 && CollisionMask.is(formula, CollisionMask.LEFT_VERTICAL))
         {
             tileCollidable.apply(result);
             movement.zero();
         }
-        if (category.getName().equals(CollisionName.KNEE_CENTER) && result.contains(CollisionName.SPIKE))
+        if (CollisionMask.is(CollisionMask.get(category), CollisionMask.KNEE_CENTER)
+            && CollisionMask.is(CollisionMask.get(result), CollisionMask.HAS_SPIKE))
         {
             transformable.teleportX(transformable.getOldX());
             movement.zero();
@@ -155,17 +171,17 @@ public abstract class State extends StateHelper<EntityModel>
      */
     protected void onCollideLeg(CollisionResult result, CollisionCategory category)
     {
-        if (!result.startWithY(CollisionName.LIANA)
-            && !result.startWithY(CollisionName.SPIKE)
-            && !result.startWithY(CollisionName.GRIP)
+        final int formula = CollisionMask.getY(result);
+        if (!CollisionMask.is(formula, CollisionMask.LIANA | CollisionMask.SPIKE | CollisionMask.GRIP)
             && Double.compare(transformable.getY(), transformable.getOldY()) <= 0)
         {
+            final int mask = CollisionMask.get(category);
             collideY.set(true);
-            if (category.getName().endsWith(CollisionName.LEFT))
+            if (CollisionMask.is(mask, CollisionMask.LEFT))
             {
                 collideYleft.set(true);
             }
-            else if (category.getName().endsWith(CollisionName.RIGHT))
+            else if (CollisionMask.is(mask, CollisionMask.RIGHT))
             {
                 collideYright.set(true);
             }
@@ -184,7 +200,7 @@ public abstract class State extends StateHelper<EntityModel>
     protected void onCollideHand(CollisionResult result, CollisionCategory category)
     {
         liana.onCollideHand(result, category);
-        if (result.startWithY(CollisionName.GRIP)
+        if (CollisionMask.is(CollisionMask.getY(result), CollisionMask.GRIP)
             && Double.compare(transformable.getY(), transformable.getOldY()) <= 0
             && !isGoDown())
         {
@@ -217,30 +233,32 @@ public abstract class State extends StateHelper<EntityModel>
      */
     protected void onCollided(Collidable collidable, Collision with, Collision by)
     {
+        final int withMask = CollisionMask.get(with);
+        final int byMask = CollisionMask.get(by);
         if (collidable.hasFeature(Glue.class))
         {
-            if (with.getName().startsWith(Anim.LEG) && by.getName().startsWith(CollisionName.GROUND))
+            if (CollisionMask.is(withMask, CollisionMask.LEG) && CollisionMask.is(byMask, CollisionMask.GROUND))
             {
                 collideY.set(true);
             }
-            else if (with.getName().startsWith(CollisionName.GRIP) && by.getName().startsWith(CollisionName.GRIP))
+            else if (CollisionMask.is(withMask, CollisionMask.GRIP) && CollisionMask.is(byMask, CollisionMask.GRIP))
             {
                 grip.set(true);
             }
         }
 
-        if (with.getName().contains(CollisionName.BODY)
-            && (movement.getDirectionHorizontal() < 0 && by.getName().contains(CollisionName.RIGHT_VERTICAL)
-                || movement.getDirectionHorizontal() > 0 && by.getName().contains(CollisionName.LEFT_VERTICAL)))
+        if (CollisionMask.is(withMask, CollisionMask.HAS_BODY)
+            && (movement.getDirectionHorizontal() < 0 && CollisionMask.is(byMask, CollisionMask.HAS_RIGHT_VERTICAL)
+                || movement.getDirectionHorizontal() > 0 && CollisionMask.is(byMask, CollisionMask.HAS_LEFT_VERTICAL)))
         {
             final Transformable other = collidable.getFeature(Transformable.class);
             collideX.set(true);
-            if (by.getName().contains(CollisionName.LEFT_VERTICAL))
+            if (CollisionMask.is(byMask, CollisionMask.HAS_LEFT_VERTICAL))
             {
                 transformable.teleportX(other.getX() + by.getOffsetX() - with.getWidth() / 2);
                 collideXright.set(true);
             }
-            if (by.getName().contains(CollisionName.RIGHT_VERTICAL))
+            if (CollisionMask.is(byMask, CollisionMask.HAS_RIGHT_VERTICAL))
             {
                 transformable.teleportX(other.getX() + by.getOffsetX() + with.getWidth() / 2);
                 collideXleft.set(true);
@@ -283,8 +301,8 @@ public abstract class State extends StateHelper<EntityModel>
     public void enter()
     {
         animatable.play(animation);
-        tileCollidable.addListener(listenerTileCollidable);
-        collidable.addListener(this::onCollided);
+        model.getStateCollision().enter(collidable, tileCollidable, listenerCollidable, listenerTileCollidable);
+        model.setMirrorState(mirrorAuto);
         collideX.set(false);
         collideXright.set(false);
         collideXleft.set(false);
@@ -308,8 +326,7 @@ public abstract class State extends StateHelper<EntityModel>
     @Override
     public void exit()
     {
-        tileCollidable.removeListener(listenerTileCollidable);
-        collidable.removeListener(this::onCollided);
+        model.getStateCollision().exit(listenerCollidable);
     }
 
     @Override
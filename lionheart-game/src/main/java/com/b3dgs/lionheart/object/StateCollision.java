@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart.object;
+
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.collidable.CollidableListener;
+import com.b3dgs.lionengine.game.feature.collidable.Collision;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionCategory;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionResult;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.TileCollidable;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.TileCollidableListener;
+
+/**
+ * Entity collisions forwarded to current state.
+ * <p>
+ * Registered once on entity collidables at first state enter, then state changes only switch the forward target,
+ * without listeners list change nor allocation.
+ * </p>
+ */
+final class StateCollision implements CollidableListener, TileCollidableListener
+{
+    /** Current state collidable listener, <code>null</code> if none. */
+    private CollidableListener collided;
+    /** Current state tile collidable listener, <code>null</code> if none. */
+    private TileCollidableListener tileCollided;
+    /** Registered flag. */
+    private boolean registered;
+
+    /**
+     * Create forwarding.
+     */
+    StateCollision()
+    {
+        super();
+    }
+
+    /**
+     * Forward to entering state, register on first call.
+     * 
+     * @param collidable The entity collidable.
+     * @param tileCollidable The entity tile collidable.
+     * @param collided The state collidable listener.
+     * @param tileCollided The state tile collidable listener.
+     */
+    void enter(Collidable collidable,
+               TileCollidable tileCollidable,
+               CollidableListener collided,
+               TileCollidableListener tileCollided)
+    {
+        if (!registered)
+        {
+            collidable.addListener(this);
+            tileCollidable.addListener(this);
+            registered = true;
+        }
+        this.collided = collided;
+        this.tileCollided = tileCollided;
+    }
+
+    /**
+     * Stop forwarding to exiting state, if still current.
+     * 
+     * @param collided The state collidable listener.
+     */
+    void exit(CollidableListener collided)
+    {
+        if (this.collided == collided)
+        {
+            this.collided = null;
+            tileCollided = null;
+        }
+    }
+
+    @Override
+    public void notifyCollided(Collidable collidable, Collision with, Collision by)
+    {
+        if (collided != null)
+        {
+            collided.notifyCollided(collidable, with, by);
+        }
+    }
+
+    @Override
+    public void notifyTileCollided(CollisionResult result, CollisionCategory category)
+    {
+        if (tileCollided != null)
+        {
+            tileCollided.notifyTileCollided(result, category);
+        }
+    }
+}
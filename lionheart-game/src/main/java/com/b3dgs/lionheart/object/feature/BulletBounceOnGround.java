@@ -48,7 +48,7 @@ import com.b3dgs.lionheart.Constant;
 import com.b3dgs.lionheart.Settings;
 import com.b3dgs.lionheart.Sfx;
 import com.b3dgs.lionheart.constant.Anim;
-import com.b3dgs.lionheart.constant.CollisionName;
+import com.b3dgs.lionheart.object.CollisionMask;
 import com.b3dgs.lionheart.object.EntityModel;
 
 /**
@@ -63,6 +63,10 @@ public final class BulletBounceOnGround extends FeatureModel implements Routine,
 
     private static final double BOUNCE_MAX = 3.5;
     private static final int BOUNCE_DELAY_TICK = 4;
+    private static final int BOUNCE_ON = CollisionMask.HAS_GROUND
+                                         | CollisionMask.HAS_SLOPE
+                                         | CollisionMask.HAS_INCLINE
+                                         | CollisionMask.HAS_BLOCK;
 
     /**
      * Get horizontal side.
@@ -72,12 +76,13 @@ public final class BulletBounceOnGround extends FeatureModel implements Routine,
      */
     private static int getSideX(CollisionResult result)
     {
+        final int mask = CollisionMask.get(result);
         final int sideX;
-        if (result.contains(CollisionName.LEFT))
+        if (CollisionMask.is(mask, CollisionMask.HAS_LEFT))
         {
             sideX = -1;
         }
-        else if (result.contains(CollisionName.RIGHT))
+        else if (CollisionMask.is(mask, CollisionMask.HAS_RIGHT))
         {
             sideX = 1;
         }
@@ -150,14 +155,13 @@ public final class BulletBounceOnGround extends FeatureModel implements Routine,
     @Override
     public void notifyTileCollided(CollisionResult result, CollisionCategory category)
     {
+        final int mask = CollisionMask.get(category);
+        final int formula = CollisionMask.getY(result);
         if ((count == 0 || bounced < count)
-            && category.getName().contains(CollisionName.LEG)
+            && CollisionMask.is(mask, CollisionMask.HAS_LEG)
             && tick.elapsed(BOUNCE_DELAY_TICK))
         {
-            if (result.containsY(CollisionName.GROUND)
-                || result.containsY(CollisionName.SLOPE)
-                || result.containsY(CollisionName.INCLINE)
-                || result.containsY(CollisionName.BLOCK))
+            if (CollisionMask.is(formula, BOUNCE_ON))
             {
                 final double bounce = UtilMath.clamp(Math.abs(transformable.getOldY() - transformable.getY()) * 0.75,
                                                      0.0,
@@ -172,12 +176,12 @@ public final class BulletBounceOnGround extends FeatureModel implements Routine,
                 transformable.teleportY(transformable.getY() + 2.0);
 
                 final int sideX = getSideX(result);
-                if (result.containsY(CollisionName.SLOPE))
+                if (CollisionMask.is(formula, CollisionMask.HAS_SLOPE))
                 {
                     bounceX += 0.5 * sideX;
                     jump.setDestination(bounceX, 0.0);
                 }
-                if (result.containsY(CollisionName.INCLINE))
+                if (CollisionMask.is(formula, CollisionMask.HAS_INCLINE))
                 {
                     bounceX += 0.75 * sideX;
                     jump.setDestination(bounceX, 0.0);
@@ -188,7 +192,7 @@ public final class BulletBounceOnGround extends FeatureModel implements Routine,
                 bounced++;
             }
         }
-        else if (category.getName().startsWith(CollisionName.KNEE))
+        else if (CollisionMask.is(mask, CollisionMask.KNEE))
         {
             final int side;
             if (transformable.getX() > transformable.getOldX())
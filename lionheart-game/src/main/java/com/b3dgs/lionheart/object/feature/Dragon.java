@@ -262,8 +262,7 @@ public final class Dragon extends FeatureModel implements Routine, Recyclable
         launcher.addListener(tongue::add);
         if (Settings.getInstance().getRasterObject())
         {
-            launcher.addListener(l -> l.ifIs(Rasterable.class,
-                                             r -> r.setRaster(true, rasterable.getMedia().get(), map.getTileHeight())));
+            launcher.addListener(l -> LaunchedRaster.apply(l, rasterable.getMedia(), map.getTileHeight()));
         }
     }
 
@@ -112,8 +112,7 @@ public final class Gobelin extends FeatureModel implements Routine, Recyclable
 
         if (Settings.getInstance().getRasterObject())
         {
-            launcher.addListener(l -> l.ifIs(Rasterable.class,
-                                             r -> r.setRaster(true, rasterable.getMedia().get(), map.getTileHeight())));
+            launcher.addListener(l -> LaunchedRaster.apply(l, rasterable.getMedia(), map.getTileHeight()));
         }
     }
 
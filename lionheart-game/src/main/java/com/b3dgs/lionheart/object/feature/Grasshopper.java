@@ -86,8 +86,7 @@ public final class Grasshopper extends FeatureModel implements Routine
         });
         if (Settings.getInstance().getRasterObject())
         {
-            launcher.addListener(l -> l.ifIs(Rasterable.class,
-                                             r -> r.setRaster(true, rasterable.getMedia().get(), map.getTileHeight())));
+            launcher.addListener(l -> LaunchedRaster.apply(l, rasterable.getMedia(), map.getTileHeight()));
         }
     }
 
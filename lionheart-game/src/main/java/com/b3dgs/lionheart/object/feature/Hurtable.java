@@ -55,8 +55,7 @@ import com.b3dgs.lionheart.Constant;
 import com.b3dgs.lionheart.LoadNextStage;
 import com.b3dgs.lionheart.MapTileWater;
 import com.b3dgs.lionheart.Sfx;
-import com.b3dgs.lionheart.constant.Anim;
-import com.b3dgs.lionheart.constant.CollisionName;
+import com.b3dgs.lionheart.object.CollisionMask;
 import com.b3dgs.lionheart.object.EntityModel;
 import com.b3dgs.lionheart.object.state.StateDie;
 import com.b3dgs.lionheart.object.state.StateGripIdle;
@@ -215,19 +214,19 @@ public final class Hurtable extends FeatureModel
      */
     private void updateCollide(Collidable collidable, Collision with, Collision by)
     {
+        final boolean attacked = CollisionMask.is(CollisionMask.get(with), CollisionMask.BODY)
+                                 && CollisionMask.is(CollisionMask.get(by), CollisionMask.ATTACK);
         if (enabled
+            && attacked
             && collidable.getGroup() == Constant.COLL_GROUP_PLAYER
             && recover.elapsed(HURT_RECOVER_ATTACK_TICK)
-            && Double.compare(hurtForce.getDirectionHorizontal(), 0.0) == 0
-            && with.getName().startsWith(CollisionName.BODY)
-            && by.getName().startsWith(Anim.ATTACK))
+            && Double.compare(hurtForce.getDirectionHorizontal(), 0.0) == 0)
         {
             updateCollideAttack(collidable, by);
         }
-        if (collidable.getGroup() != Constant.COLL_GROUP_PLAYER
-            && recover.elapsed(HURT_RECOVER_BODY_TICK)
-            && with.getName().startsWith(Anim.BODY)
-            && by.getName().startsWith(Anim.ATTACK))
+        if (attacked
+            && collidable.getGroup() != Constant.COLL_GROUP_PLAYER
+            && recover.elapsed(HURT_RECOVER_BODY_TICK))
         {
             updateCollideBody(collidable);
         }
@@ -243,7 +242,7 @@ public final class Hurtable extends FeatureModel
     {
         sfx.play();
         int damages = collidable.getFeature(Stats.class).getDamages();
-        if (!boss && by.getName().startsWith(Anim.ATTACK_FALL))
+        if (!boss && CollisionMask.is(CollisionMask.get(by), CollisionMask.ATTACK_FALL))
         {
             damages *= 2;
         }
@@ -320,10 +319,10 @@ public final class Hurtable extends FeatureModel
     private void updateTile(CollisionResult result, CollisionCategory category)
     {
         if (recover.elapsed(HURT_RECOVER_BODY_TICK)
-            && (category.getAxis() == Axis.Y && result.contains(CollisionName.SPIKE)
-                || (category.getName().equals(CollisionName.KNEE_CENTER)
-                    || category.getName().startsWith(CollisionName.KNEE_X_CENTER))
-                   && result.contains(CollisionName.SPIKE)))
+            && CollisionMask.is(CollisionMask.get(result), CollisionMask.HAS_SPIKE)
+            && (category.getAxis() == Axis.Y
+                || CollisionMask.is(CollisionMask.get(category),
+                                    CollisionMask.KNEE_CENTER | CollisionMask.KNEE_X_CENTER)))
         {
             if (stats.applyDamages(SPIKE_DAMAGES))
             {
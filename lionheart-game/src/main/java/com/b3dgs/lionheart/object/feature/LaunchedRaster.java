@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart.object.feature;
+
+import java.util.Optional;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.game.feature.launchable.Launchable;
+import com.b3dgs.lionengine.game.feature.rasterable.Rasterable;
+
+/**
+ * Raster of launched projectiles, from their launcher raster.
+ * <p>
+ * Projectiles are recycled by factory cache and keep their raster, so raster is set only when projectile does not
+ * already have launcher raster, instead of on each fire. Each projectile media is then rastered once per cached
+ * instance and raster media.
+ * </p>
+ */
+final class LaunchedRaster
+{
+    /**
+     * Set launcher raster to launched projectile if not already set.
+     * 
+     * @param launchable The launched projectile.
+     * @param raster The launcher raster.
+     * @param rasterHeight The raster height.
+     */
+    static void apply(Launchable launchable, Optional<Media> raster, int rasterHeight)
+    {
+        if (raster.isPresent() && launchable.hasFeature(Rasterable.class))
+        {
+            final Rasterable rasterable = launchable.getFeature(Rasterable.class);
+            if (!raster.equals(rasterable.getMedia()))
+            {
+                rasterable.setRaster(true, raster.get(), rasterHeight);
+            }
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private LaunchedRaster()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
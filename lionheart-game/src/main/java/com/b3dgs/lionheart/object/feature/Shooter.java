@@ -49,7 +49,10 @@ import com.b3dgs.lionheart.constant.Anim;
 @FeatureInterface
 public final class Shooter extends FeatureModel implements Routine, Recyclable
 {
+    private static final double TRACK_SPEED = 0.25;
+
     private final Tick tick = new Tick();
+    private final Force track = new Force(TRACK_SPEED, 0.0);
     private final Animation idle;
     private final Animation attack;
 
@@ -142,7 +145,8 @@ public final class Shooter extends FeatureModel implements Routine, Recyclable
         {
             if (config.getTrack())
             {
-                launcher.fire(new Force(0.25, 0.0), player);
+                track.setDirection(TRACK_SPEED, 0.0);
+                launcher.fire(track, player);
             }
             else
             {
@@ -224,9 +228,7 @@ public final class Shooter extends FeatureModel implements Routine, Recyclable
         {
             if (Settings.getInstance().getRasterObject())
             {
-                rasterable.getMedia()
-                          .ifPresent(media -> l.ifIs(Rasterable.class,
-                                                     r -> r.setRaster(true, media, map.getTileHeight())));
+                LaunchedRaster.apply(l, rasterable.getMedia(), map.getTileHeight());
             }
 
             if (config != null && !config.getTrack())
@@ -32,7 +32,7 @@ import com.b3dgs.lionheart.Sfx;
 public final class TakeableConfig
 {
     /** Takeable node name. */
-    private static final String NODE_TAKEABLE = "takeable";
+    public static final String NODE_TAKEABLE = "takeable";
     /** Effect attribute name. */
     private static final String ATT_EFFECT = "effect";
     /** Sound attribute name. */
@@ -56,6 +56,8 @@ public final class StateHurt extends State
     {
         super(model, animation);
 
+        setMirrorAuto(false);
+
         addTransition(StateLast.class, () -> !hurtable.isHurting() && !model.hasFeature(Patrol.class));
         addTransition(StatePatrol.class, () -> !hurtable.isHurting() && model.hasFeature(Patrol.class));
 
@@ -38,6 +38,8 @@ public final class StateIdleAnimal extends State
     {
         super(model, animation);
 
+        setMirrorAuto(false);
+
         addTransition(StateJump.class, () -> (isGoUpOnce() || isFire(DeviceMapping.UP)));
         addTransition(StateAttackAnimal.class, this::isFire);
     }
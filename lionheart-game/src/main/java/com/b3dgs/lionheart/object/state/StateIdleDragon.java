@@ -38,6 +38,8 @@ public final class StateIdleDragon extends State
     {
         super(model, animation);
 
+        setMirrorAuto(false);
+
         addTransition(StateAttackDragon.class, this::isFireOnce);
         addTransition(StateJump.class, () -> isFire() && (isGoUpOnce() || isFire(DeviceMapping.UP)));
     }
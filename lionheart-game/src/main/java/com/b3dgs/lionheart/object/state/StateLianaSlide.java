@@ -50,6 +50,8 @@ public class StateLianaSlide extends State
     {
         super(model, animation);
 
+        setMirrorAuto(false);
+
         addTransition(StateAttackLianaSlide.class, () -> liana.is() && isFireOnce());
         addTransition(StateFall.class, () -> !liana.is() || isGoDownOnce());
     }
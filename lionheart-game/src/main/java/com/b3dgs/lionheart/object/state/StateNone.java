@@ -39,7 +39,7 @@ public final class StateNone extends State
     @Override
     public void enter()
     {
-        // Nothing to do
+        model.setMirrorState(true);
     }
 
     @Override
@@ -36,6 +36,8 @@ public class StateSlide extends StateSlideBase
     {
         super(model, animation);
 
+        setMirrorAuto(false);
+
         addTransition(StateSlideFast.class,
                       () -> is(Mirror.NONE) && isGoRight() || is(Mirror.HORIZONTAL) && isGoLeft());
         addTransition(StateSlideSlow.class,
@@ -24,7 +24,7 @@ import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionCategory;
 import com.b3dgs.lionengine.game.feature.tile.map.collision.CollisionResult;
 import com.b3dgs.lionheart.Constant;
 import com.b3dgs.lionheart.DeviceMapping;
-import com.b3dgs.lionheart.constant.CollisionName;
+import com.b3dgs.lionheart.object.CollisionMask;
 import com.b3dgs.lionheart.object.EntityModel;
 import com.b3dgs.lionheart.object.State;
 import com.b3dgs.lionheart.object.state.attack.StatePrepareAttack;
@@ -77,7 +77,7 @@ public final class StateWalk extends State
     @Override
     protected void onCollideKnee(CollisionResult result, CollisionCategory category)
     {
-        if (!category.getName().startsWith(CollisionName.KNEE + "_1"))
+        if (!CollisionMask.is(CollisionMask.get(category), CollisionMask.KNEE_1))
         {
             super.onCollideKnee(result, category);
         }
@@ -88,35 +88,34 @@ public final class StateWalk extends State
     {
         super.onCollideLeg(result, category);
 
-        if (result.startWithY(CollisionName.SLOPE))
+        final int formula = CollisionMask.getY(result);
+        final boolean left = CollisionMask.is(formula, CollisionMask.LEFT);
+        final boolean right = CollisionMask.is(formula, CollisionMask.RIGHT);
+        if (CollisionMask.is(formula, CollisionMask.SLOPE))
         {
             factor = 0.5;
 
-            if (movement.getDirectionHorizontal() > 0 && result.endWithY(CollisionName.LEFT)
-                || movement.getDirectionHorizontal() < 0 && result.endWithY(CollisionName.RIGHT))
+            if (movement.getDirectionHorizontal() > 0 && left || movement.getDirectionHorizontal() < 0 && right)
             {
                 slopeRising.set(true);
                 speedSlope = SPEED_SLOPE_RISING;
             }
-            else if (movement.getDirectionHorizontal() > 0 && result.endWithY(CollisionName.RIGHT)
-                     || movement.getDirectionHorizontal() < 0 && result.endWithY(CollisionName.LEFT))
+            else if (movement.getDirectionHorizontal() > 0 && right || movement.getDirectionHorizontal() < 0 && left)
             {
                 slopeDescending.set(true);
                 speedSlope = SPEED_SLOPE_DESCENDING;
             }
         }
-        else if (result.startWithY(CollisionName.INCLINE))
+        else if (CollisionMask.is(formula, CollisionMask.INCLINE))
         {
             factor = 2;
 
-            if (movement.getDirectionHorizontal() > 0 && result.endWithY(CollisionName.LEFT)
-                || movement.getDirectionHorizontal() < 0 && result.endWithY(CollisionName.RIGHT))
+            if (movement.getDirectionHorizontal() > 0 && left || movement.getDirectionHorizontal() < 0 && right)
             {
                 slopeRising.set(true);
                 speedSlope = SPEED_SLOPE_RISING * 1.4;
             }
-            else if (movement.getDirectionHorizontal() > 0 && result.endWithY(CollisionName.RIGHT)
-                     || movement.getDirectionHorizontal() < 0 && result.endWithY(CollisionName.LEFT))
+            else if (movement.getDirectionHorizontal() > 0 && right || movement.getDirectionHorizontal() < 0 && left)
             {
                 slopeDescending.set(true);
                 speedSlope = SPEED_SLOPE_DESCENDING * 1.4;
@@ -38,6 +38,8 @@ public final class StateAttackAnimal extends State
     {
         super(model, animation);
 
+        setMirrorAuto(false);
+
         addTransition(StateLast.class, () -> is(AnimState.FINISHED));
     }
 
@@ -63,8 +63,6 @@ public final class AppLionheart
         AudioFactory.addFormat(new WavFormat());
         AudioFactory.addFormat(Sc68Format.getFailsafe());
 
-        Util.init(Tools::generateWorldRaster);
-
         final Settings settings = Settings.getInstance();
         AudioFactory.setVolume(settings.getVolumeMaster());
         Loader.start(Config.windowed(settings.getResolution(),
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.UtilMath;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.geom.Coord;
+
+/**
+ * Test {@link CheckpointHandler} progression on shipped stages.
+ */
+public class CheckpointHandlerTest
+{
+    private static final int TILE = 16;
+    private static final int WIDTH_IN_TILE = 1024;
+    private static final int HEIGHT_IN_TILE = 256;
+    private static final int CHECKPOINT_DISTANCE_TILE = 4;
+
+    /**
+     * Create proxy of type.
+     * 
+     * @param <T> The proxy type.
+     * @param type The proxy type.
+     * @param handler The methods handler.
+     * @return The proxy.
+     */
+    private static <T> T proxy(Class<T> type, InvocationHandler handler)
+    {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]
+        {
+            type
+        }, handler));
+    }
+
+    /**
+     * Init engine.
+     */
+    @BeforeEach
+    void prepare()
+    {
+        EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, AppLionheart.class);
+    }
+
+    /**
+     * Terminate engine.
+     */
+    @AfterEach
+    void terminate()
+    {
+        Engine.terminate();
+    }
+
+    /**
+     * Test normal stages.
+     * 
+     * @param stage The stage to test.
+     */
+    @ParameterizedTest
+    @EnumSource(Stage.class)
+    void testStage(Stage stage)
+    {
+        checkProgression(stage);
+    }
+
+    /**
+     * Test hard stages.
+     * 
+     * @param stage The stage to test.
+     */
+    @ParameterizedTest
+    @EnumSource(StageHard.class)
+    void testStageHard(StageHard stage)
+    {
+        checkProgression(stage);
+    }
+
+    /**
+     * Walk player to each checkpoint in configuration order, then back to first one, and check current checkpoint is
+     * the one of initial linear search on configuration order, ending on last checkpoint.
+     * 
+     * @param stage The stage to test.
+     */
+    private static void checkProgression(Media stage)
+    {
+        final Services services = new Services();
+        final MapTileGame map = services.add(new MapTileGame());
+        map.create(TILE, TILE, WIDTH_IN_TILE, HEIGHT_IN_TILE);
+
+        final double[] location = new double[2];
+        final Transformable player = proxy(Transformable.class, (proxy, method, args) ->
+        {
+            if ("getX".equals(method.getName()))
+            {
+                return Double.valueOf(location[0]);
+            }
+            if ("getY".equals(method.getName()))
+            {
+                return Double.valueOf(location[1]);
+            }
+            return null;
+        });
+        final Featurable featurable = proxy(Featurable.class, (proxy, method, args) -> player);
+
+        final StageConfig config = StageConfig.imports(stage);
+        final List<Checkpoint> checkpoints = new ArrayList<>(config.getCheckpoints());
+        final CheckpointHandler handler = new CheckpointHandler(services);
+        handler.load(config, featurable, Optional.empty());
+
+        final List<Checkpoint> walk = new ArrayList<>(checkpoints);
+        for (int i = checkpoints.size() - 1; i >= 0; i--)
+        {
+            walk.add(checkpoints.get(i));
+        }
+
+        int last = 0;
+        for (final Checkpoint checkpoint : walk)
+        {
+            location[0] = (checkpoint.getTx() + 1) * TILE;
+            location[1] = checkpoint.getTy() * TILE;
+            handler.update(1.0);
+            last = getLast(checkpoints, map.getInTileX(player), map.getInTileY(player), last);
+
+            final Coord current = handler.getCurrent(player);
+            assertEquals(checkpoints.get(last).getTx() * TILE, current.getX(), stage.getPath());
+            assertEquals(checkpoints.get(last).getTy() * TILE, current.getY(), stage.getPath());
+        }
+        assertEquals(checkpoints.size() - 1, last, stage.getPath());
+    }
+
+    /**
+     * Get last reached checkpoint with linear search in configuration order.
+     * 
+     * @param checkpoints The checkpoints in configuration order.
+     * @param tx The player horizontal tile.
+     * @param ty The player vertical tile.
+     * @param last The last reached checkpoint index.
+     * @return The new last reached checkpoint index.
+     */
+    private static int getLast(List<Checkpoint> checkpoints, int tx, int ty, int last)
+    {
+        int reached = last;
+        for (int i = last + 1; i < checkpoints.size(); i++)
+        {
+            final Checkpoint checkpoint = checkpoints.get(i);
+            if (UtilMath.getDistance(tx, ty, checkpoint.getTx(), checkpoint.getTy()) < CHECKPOINT_DISTANCE_TILE
+                && tx > checkpoint.getTx())
+            {
+                reached = i;
+            }
+        }
+        return reached;
+    }
+}
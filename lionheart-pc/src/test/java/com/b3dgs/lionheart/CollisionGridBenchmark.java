@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.CameraTracker;
+import com.b3dgs.lionengine.game.feature.ComponentUpdater;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Spawner;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.collidable.Collision;
+import com.b3dgs.lionengine.game.feature.collidable.ComponentCollision;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.engine.Loader;
+import com.b3dgs.lionengine.graphic.engine.Sequence;
+import com.b3dgs.lionengine.graphic.engine.SourceResolutionDelegate;
+import com.b3dgs.lionengine.helper.DeviceControllerConfig;
+import com.b3dgs.lionengine.helper.MapTileHelper;
+import com.b3dgs.lionheart.constant.CollisionName;
+import com.b3dgs.lionheart.constant.Folder;
+
+/**
+ * Compare time per frame between engine {@link ComponentCollision} and {@link ComponentCollisionGrid}, on stages of
+ * 100, 1k and 10k moving entities with the game collision groups.
+ * <p>
+ * Entities are created by factory, and only their location changes between frames. Collision component is the only
+ * handler component, so handler update times collision only. Both components must notify the same collisions.
+ * </p>
+ */
+public final class CollisionGridBenchmark
+{
+    private static final int[] ENTITIES =
+    {
+        100, 1_000, 10_000
+    };
+    private static final int FRAMES = 60;
+    private static final int TILE = 16;
+    private static final int STAGE_HEIGHT = 480;
+    private static final int DENSITY = 64;
+    private static final int BOX = 16;
+    private static final int SPEED = 4;
+    private static final double NANO_TO_MILLI = 1_000_000.0;
+    private static final Media ENTITY = Medias.create(Folder.ENTITY, "ancienttown", "Wall.xml");
+
+    /**
+     * Main function.
+     * 
+     * @param args The arguments (none).
+     */
+    public static void main(String[] args) // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, AppLionheart.class);
+        try
+        {
+            Loader.start(Config.windowed(Constant.RESOLUTION_OUTPUT), Mock.class).await();
+        }
+        finally
+        {
+            Engine.terminate();
+        }
+    }
+
+    /**
+     * Get entity group: one player, then half enemies, some projectiles and background.
+     * 
+     * @param i The entity index.
+     * @param random The random generator.
+     * @return The entity group.
+     */
+    private static Integer getGroup(int i, Random random)
+    {
+        if (i == 0)
+        {
+            return Constant.COLL_GROUP_PLAYER;
+        }
+        final int value = random.nextInt(10);
+        if (value < 5)
+        {
+            return Constant.COLL_GROUP_ENEMIES;
+        }
+        if (value < 8)
+        {
+            return Constant.COLL_GROUP_PROJECTILES;
+        }
+        return Constant.COLL_GROUP_BACKGROUND;
+    }
+
+    /**
+     * Set collidable group and its accepted groups.
+     * 
+     * @param collidable The collidable reference.
+     * @param group The collidable group.
+     */
+    private static void setGroup(Collidable collidable, Integer group)
+    {
+        collidable.setGroup(group);
+        if (Constant.COLL_GROUP_PLAYER.equals(group))
+        {
+            collidable.addAccept(Constant.COLL_GROUP_ENEMIES);
+            collidable.addAccept(Constant.COLL_GROUP_BACKGROUND);
+            collidable.addAccept(Constant.COLL_GROUP_PROJECTILES);
+        }
+        else if (Constant.COLL_GROUP_PROJECTILES.equals(group))
+        {
+            collidable.addAccept(Constant.COLL_GROUP_PLAYER);
+            collidable.addAccept(Constant.COLL_GROUP_ENEMIES);
+        }
+        else
+        {
+            collidable.addAccept(Constant.COLL_GROUP_PLAYER);
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private CollisionGridBenchmark()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * Benchmark sequence.
+     */
+    private static class Mock extends Sequence
+    {
+        private final Services services = new Services();
+        private final Factory factory = services.create(Factory.class);
+        private final MapTileHelper map;
+
+        /**
+         * Create mock.
+         * 
+         * @param context The context reference.
+         */
+        Mock(Context context)
+        {
+            super(context, Util.getResolution(Constant.RESOLUTION, context));
+
+            services.create(Camera.class).setView(0, 0, getWidth(), getHeight(), getHeight());
+            services.add(context);
+            services.add(new CameraTracker(services));
+            map = services.add(new MapTileHelper(services));
+            services.add(new CheckpointHandler(services));
+            services.add(new SourceResolutionDelegate(this::getWidth, this::getHeight, this::getRate));
+            services.add((Spawner) (media, x, y) -> factory.create(media));
+            services.add(DeviceControllerConfig.create(services, Medias.create(Constant.INPUT_FILE_CUSTOM)));
+        }
+
+        /**
+         * Simulate stage and measure collision time per frame.
+         * 
+         * @param count The entities number.
+         * @param component The collision component.
+         * @return The average time per frame in nano and notified collisions.
+         */
+        private long[] measure(int count, ComponentUpdater component)
+        {
+            final Handler handler = new Handler(services);
+            handler.addComponent(component);
+
+            final int width = count * DENSITY;
+            final AtomicLong notified = new AtomicLong();
+            final Transformable[] transformables = new Transformable[count];
+            final double[] vx = new double[count];
+            final double[] vy = new double[count];
+            final Random random = new Random(count);
+            for (int i = 0; i < count; i++)
+            {
+                final Featurable featurable = factory.create(ENTITY);
+                final Collidable collidable = featurable.getFeature(Collidable.class);
+                final Integer group = getGroup(i, random);
+                setGroup(collidable, group);
+                collidable.addCollision(new Collision(CollisionName.BODY, 0, 0, BOX, BOX, false));
+                collidable.addListener((c, with, by) -> notified.incrementAndGet());
+
+                transformables[i] = featurable.getFeature(Transformable.class);
+                transformables[i].teleport(random.nextInt(width), random.nextInt(STAGE_HEIGHT));
+                if (!Constant.COLL_GROUP_BACKGROUND.equals(group))
+                {
+                    vx[i] = random.nextDouble() * SPEED * 2 - SPEED;
+                    vy[i] = random.nextDouble() * SPEED * 2 - SPEED;
+                }
+                handler.add(featurable);
+            }
+            handler.updateAdd();
+
+            long total = 0L;
+            for (int frame = 0; frame < FRAMES; frame++)
+            {
+                for (int i = 0; i < count; i++)
+                {
+                    final Transformable transformable = transformables[i];
+                    if (transformable.getX() + vx[i] < 0 || transformable.getX() + vx[i] > width)
+                    {
+                        vx[i] = -vx[i];
+                    }
+                    if (transformable.getY() + vy[i] < 0 || transformable.getY() + vy[i] > STAGE_HEIGHT)
+                    {
+                        vy[i] = -vy[i];
+                    }
+                    transformable.teleport(transformable.getX() + vx[i], transformable.getY() + vy[i]);
+                }
+                final long start = System.nanoTime();
+                handler.update(1.0);
+                total += System.nanoTime() - start;
+            }
+            handler.removeAll();
+            handler.updateRemove();
+
+            return new long[]
+            {
+                total / FRAMES, notified.get()
+            };
+        }
+
+        @Override
+        public void load()
+        {
+            for (final int count : ENTITIES)
+            {
+                map.create(TILE, TILE, count * DENSITY / TILE + 1, STAGE_HEIGHT / TILE + 1);
+
+                final long[] engine = measure(count, new ComponentCollision());
+                final ComponentCollisionGrid grid = new ComponentCollisionGrid();
+                grid.load(map);
+                final long[] game = measure(count, grid);
+
+                if (engine[1] != game[1])
+                {
+                    throw new LionEngineException("Collisions mismatch: ",
+                                                  String.valueOf(engine[1]),
+                                                  " != ",
+                                                  String.valueOf(game[1]));
+                }
+                Verbose.info(String.format(Locale.ENGLISH,
+                                           "%6d entities engine=%8.3fms/frame grid=%8.3fms/frame %10d collisions",
+                                           Integer.valueOf(count),
+                                           Double.valueOf(engine[0] / NANO_TO_MILLI),
+                                           Double.valueOf(game[0] / NANO_TO_MILLI),
+                                           Long.valueOf(game[1])));
+            }
+        }
+
+        @Override
+        public void update(double extrp)
+        {
+            end();
+        }
+
+        @Override
+        public void render(Graphic g)
+        {
+            g.clear(0, 0, getWidth(), getHeight());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.audio.AudioFactory;
+import com.b3dgs.lionengine.audio.AudioVoidFormat;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+import com.b3dgs.lionengine.game.feature.SequenceGame;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.graphic.engine.Loader;
+import com.b3dgs.lionheart.object.CollisionMask;
+import com.b3dgs.lionheart.object.feature.SwordShade;
+
+/**
+ * Measure {@link World} update time of a walk and slope scenario: player is moved along first stage, over its
+ * grounds, slopes and inclines, so its states resolve tile collisions through {@link CollisionMask} each frame.
+ * <p>
+ * Run it on revisions before and after a collision checks change to compare them.
+ * </p>
+ */
+public final class CollisionMaskBenchmark
+{
+    private static final Media STAGE = Stage.STAGE1;
+    private static final double SPEED = 1.5;
+    private static final int WARMUP = 300;
+    private static final int FRAMES = 1_800;
+    private static final double NANO_TO_MICRO = 1_000.0;
+
+    /**
+     * Main function.
+     * 
+     * @param args The arguments (none).
+     */
+    public static void main(String[] args) // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, AppLionheart.class);
+        AudioFactory.addFormat(new AudioVoidFormat(Arrays.asList("wav", "sc68")));
+        try
+        {
+            Loader.start(Config.windowed(Constant.RESOLUTION_OUTPUT), Mock.class).await();
+        }
+        finally
+        {
+            Engine.terminate();
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private CollisionMaskBenchmark()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * Benchmark scene.
+     */
+    private static class Mock extends SequenceGame<World>
+    {
+        private Transformable player;
+        private int frame;
+        private long total;
+
+        /**
+         * Create mock.
+         * 
+         * @param context The context reference.
+         */
+        Mock(Context context)
+        {
+            super(context, Util.getResolution(Constant.RESOLUTION_GAME, context), World::new);
+
+            services.add(Constant.INIT_STANDARD.getDifficulty());
+        }
+
+        @Override
+        public void load()
+        {
+            world.load(STAGE, Constant.INIT_STANDARD);
+            player = services.get(SwordShade.class).getFeature(Transformable.class);
+        }
+
+        @Override
+        public void update(double extrp)
+        {
+            player.teleportX(player.getX() + SPEED);
+
+            final long start = System.nanoTime();
+            super.update(1.0);
+            if (frame >= WARMUP)
+            {
+                total += System.nanoTime() - start;
+            }
+            frame++;
+
+            if (frame == WARMUP + FRAMES)
+            {
+                Verbose.info(String.format(Locale.ENGLISH,
+                                           "World.update=%8.2fus/frame",
+                                           Double.valueOf(total / NANO_TO_MICRO / FRAMES)));
+                end();
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+import com.b3dgs.lionengine.game.feature.tile.map.MapTileGame;
+import com.b3dgs.lionengine.game.feature.tile.map.TileSheetsConfig;
+import com.b3dgs.lionengine.game.feature.tile.map.persister.MapTilePersister;
+import com.b3dgs.lionengine.io.FileReading;
+import com.b3dgs.lionheart.constant.Extension;
+import com.b3dgs.lionheart.constant.Folder;
+
+/**
+ * Compare map tiles loading time between stream loading and bulk buffer loading, over all levels.
+ */
+public final class MapBenchmark
+{
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+    private static final double NANO_TO_MILLI = 1_000_000.0;
+
+    /**
+     * Main function.
+     * 
+     * @param args The game resources folder.
+     */
+    public static void main(String[] args) // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        if (args.length < 1)
+        {
+            throw new LionEngineException("Usage: MapBenchmark <resources folder>");
+        }
+        EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, args[0]);
+        try
+        {
+            for (final Media level : getLevels())
+            {
+                benchmark(level);
+            }
+        }
+        finally
+        {
+            Engine.terminate();
+        }
+    }
+
+    /**
+     * Get all levels.
+     * 
+     * @return The levels sorted by path.
+     */
+    private static List<Media> getLevels()
+    {
+        final List<Media> levels = new ArrayList<>();
+        for (final Media world : Medias.create(Folder.LEVEL).getMedias())
+        {
+            for (final Media media : world.getMedias())
+            {
+                if (media.getName().endsWith(Extension.MAP))
+                {
+                    levels.add(media);
+                }
+            }
+        }
+        levels.sort(Comparator.comparing(Media::getPath));
+        return levels;
+    }
+
+    /**
+     * Benchmark level loading.
+     * 
+     * @param level The level media.
+     */
+    private static void benchmark(Media level)
+    {
+        final MapTileGame map = new MapTileGame();
+        final MapTilePersisterOptimized persister = map.addFeatureAndGet(new MapTilePersisterOptimized());
+        map.loadSheets(Medias.create(level.getParentPath(), TileSheetsConfig.FILENAME));
+
+        final ByteBuffer data = read(level);
+        final double stream = measure(() -> loadStream(map, level));
+        final double bulk = measure(() -> persister.load(read(level)));
+        final double decode = measure(() -> persister.load(data));
+
+        Verbose.info(String.format(Locale.ENGLISH,
+                                   "%-24s size=%6d stream=%8.3fms bulk=%8.3fms decode=%8.3fms speedup=x%.1f",
+                                   level.getPath(),
+                                   Integer.valueOf(data.capacity()),
+                                   Double.valueOf(stream),
+                                   Double.valueOf(bulk),
+                                   Double.valueOf(decode),
+                                   Double.valueOf(stream / bulk)));
+    }
+
+    /**
+     * Load level with stream reading.
+     * 
+     * @param map The map reference.
+     * @param level The level media.
+     */
+    private static void loadStream(MapTileGame map, Media level)
+    {
+        try (FileReading reading = new FileReading(level))
+        {
+            map.getFeature(MapTilePersister.class).load(reading);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
+    /**
+     * Read level in buffer.
+     * 
+     * @param level The level media.
+     * @return The level data.
+     */
+    private static ByteBuffer read(Media level)
+    {
+        try
+        {
+            return MapTilePersisterOptimized.read(level);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
+    /**
+     * Measure average load time.
+     * 
+     * @param load The load to measure.
+     * @return The average time in milliseconds.
+     */
+    private static double measure(Runnable load)
+    {
+        for (int i = 0; i < WARMUP; i++)
+        {
+            load.run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            load.run();
+        }
+        return (System.nanoTime() - start) / NANO_TO_MILLI / ITERATIONS;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private MapBenchmark()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
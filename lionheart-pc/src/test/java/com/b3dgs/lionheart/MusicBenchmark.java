@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.audio.Audio;
+import com.b3dgs.lionengine.audio.AudioFactory;
+import com.b3dgs.lionengine.audio.sc68.Sc68Format;
+import com.b3dgs.lionengine.audio.wav.WavFormat;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+
+/**
+ * Compare CPU use per frame between sc68 emulation and pre-rendered musics (see {@link MusicCache}), over all musics.
+ */
+public final class MusicBenchmark
+{
+    private static final int FRAMES = 600;
+    private static final long FRAME_NANO = 1_000_000_000L / Constant.RESOLUTION.getRate();
+    private static final double NANO_TO_MILLI = 1_000_000.0;
+
+    /**
+     * Main function.
+     * 
+     * @param args The arguments (none).
+     */
+    public static void main(String[] args) // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, AppLionheart.class);
+        try
+        {
+            AudioFactory.addFormat(new WavFormat());
+            AudioFactory.addFormat(Sc68Format.getFailsafe());
+            Settings.getInstance()
+                    .load(new ByteArrayInputStream((Settings.MUSIC_CACHE + "=true").getBytes(StandardCharsets.UTF_8)));
+
+            for (final Music music : Music.values())
+            {
+                benchmark(music);
+            }
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+        finally
+        {
+            Engine.terminate();
+        }
+    }
+
+    /**
+     * Benchmark music with both paths.
+     * 
+     * @param music The music to play.
+     */
+    private static void benchmark(Music music)
+    {
+        final double emulated = measure(music);
+        final Optional<Media> cached = MusicCache.get(music);
+        if (cached.isPresent())
+        {
+            final double rendered = measure(cached.get());
+            Verbose.info(String.format(Locale.ENGLISH,
+                                       "%-20s sc68=%6.3fms/frame cache=%6.3fms/frame",
+                                       music.name(),
+                                       Double.valueOf(emulated),
+                                       Double.valueOf(rendered)));
+        }
+        else
+        {
+            Verbose.info(String.format(Locale.ENGLISH,
+                                       "%-20s sc68=%6.3fms/frame cache=none",
+                                       music.name(),
+                                       Double.valueOf(emulated)));
+        }
+    }
+
+    /**
+     * Play music and measure process CPU time per frame.
+     * 
+     * @param media The music to play.
+     * @return The average CPU time per frame in milliseconds.
+     */
+    private static double measure(Media media)
+    {
+        final Audio audio = AudioFactory.loadAudio(media);
+        audio.play();
+        try
+        {
+            final long start = getProcessCpuTime();
+            for (int i = 0; i < FRAMES; i++)
+            {
+                Thread.sleep(FRAME_NANO / 1_000_000L, (int) (FRAME_NANO % 1_000_000L));
+            }
+            return (getProcessCpuTime() - start) / NANO_TO_MILLI / FRAMES;
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new LionEngineException(exception);
+        }
+        finally
+        {
+            audio.stop();
+        }
+    }
+
+    /**
+     * Get process CPU time, including audio threads.
+     * 
+     * @return The process CPU time in nano seconds.
+     * @throws LionEngineException If not supported by virtual machine.
+     */
+    private static long getProcessCpuTime()
+    {
+        final java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean)
+        {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        throw new LionEngineException("Process CPU time not supported");
+    }
+
+    /**
+     * Private constructor.
+     */
+    private MusicBenchmark()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
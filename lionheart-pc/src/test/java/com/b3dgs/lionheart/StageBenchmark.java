@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.game.Configurer;
+import com.b3dgs.lionheart.constant.Extension;
+import com.b3dgs.lionheart.constant.Folder;
+
+/**
+ * Compare stage loading time between stage XML and compiled stage.
+ */
+public final class StageBenchmark
+{
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+    private static final double NANO_TO_MILLI = 1_000_000.0;
+
+    /**
+     * Main function.
+     * 
+     * @param args The game resources folder, the compiled stages folder.
+     */
+    public static void main(String[] args) // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        if (args.length < 2)
+        {
+            throw new LionEngineException("Usage: StageBenchmark <resources folder> <compiled stages folder>");
+        }
+        Medias.setResourcesDirectory(args[0]);
+
+        final File compiled = new File(args[1]);
+        final File[] binaries = compiled.listFiles((dir, name) -> name.endsWith(Extension.STAGE_BINARY));
+        if (binaries == null)
+        {
+            throw new LionEngineException("Compiled stages folder not found: " + compiled);
+        }
+        Arrays.sort(binaries);
+
+        for (final File binary : binaries)
+        {
+            final Media stage = Medias.create(Folder.STAGE,
+                                              binary.getName().replace(Extension.STAGE_BINARY, Extension.STAGE));
+
+            // Entity definitions are shared by both paths, keep them out of measure
+            final int entities = loadXml(stage).getEntities().size();
+            loadBinary(binary);
+
+            final double xml = measure(() -> loadXml(stage));
+            final double bin = measure(() -> loadBinary(binary));
+
+            Verbose.info(String.format(Locale.ENGLISH,
+                                       "%-20s entities=%4d xml=%8.3fms binary=%8.3fms speedup=x%.1f",
+                                       stage.getName(),
+                                       Integer.valueOf(entities),
+                                       Double.valueOf(xml),
+                                       Double.valueOf(bin),
+                                       Double.valueOf(xml / bin)));
+        }
+    }
+
+    /**
+     * Load stage from XML.
+     * 
+     * @param stage The stage media.
+     * @return The loaded stage.
+     */
+    private static StageConfig loadXml(Media stage)
+    {
+        return StageConfig.imports(new Configurer(stage));
+    }
+
+    /**
+     * Load stage from compiled stage.
+     * 
+     * @param binary The compiled stage file.
+     * @return The loaded stage.
+     */
+    private static StageConfig loadBinary(File binary)
+    {
+        try (InputStream input = new FileInputStream(binary))
+        {
+            return StageConfig.imports(new StageBinary(input), 0L);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
+    /**
+     * Measure average load time.
+     * 
+     * @param load The load to measure.
+     * @return The average time in milliseconds.
+     */
+    private static double measure(Runnable load)
+    {
+        for (int i = 0; i < WARMUP; i++)
+        {
+            load.run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            load.run();
+        }
+        return (System.nanoTime() - start) / NANO_TO_MILLI / ITERATIONS;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private StageBenchmark()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart.object;
+
+import java.util.Locale;
+
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.CameraTracker;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Spawner;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.state.StateHandler;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.engine.Loader;
+import com.b3dgs.lionengine.graphic.engine.Sequence;
+import com.b3dgs.lionengine.graphic.engine.SourceResolutionDelegate;
+import com.b3dgs.lionengine.helper.DeviceControllerConfig;
+import com.b3dgs.lionengine.helper.MapTileHelper;
+import com.b3dgs.lionheart.AppLionheart;
+import com.b3dgs.lionheart.CheckpointHandler;
+import com.b3dgs.lionheart.Constant;
+import com.b3dgs.lionheart.LoadNextStage;
+import com.b3dgs.lionheart.MapTileWater;
+import com.b3dgs.lionheart.Util;
+import com.b3dgs.lionheart.constant.Folder;
+import com.b3dgs.lionheart.object.state.StateFall;
+import com.b3dgs.lionheart.object.state.StateIdle;
+
+/**
+ * Measure {@link EntityModel#update(double)} time over a few hundred mixed entities created by factory: walls
+ * switching between idle and fall states, floaters, platforms, canons and bouncing fireballs.
+ * <p>
+ * Mirror policy is part of each update. Run it on revisions before and after a policy change to compare them.
+ * </p>
+ */
+public final class MirrorPolicyBenchmark
+{
+    private static final Media[] MEDIAS =
+    {
+        Medias.create(Folder.ENTITY, "ancienttown", "Wall.xml"),
+        Medias.create(Folder.ENTITY, "ancienttown", "Floater.xml"),
+        Medias.create(Folder.ENTITY, "ancienttown", "Platform.xml"),
+        Medias.create(Folder.ENTITY, "airship", "Canon2.xml"),
+        Medias.create(Folder.ENTITY, "lava", "FireBallLittle.xml")
+    };
+    private static final int TILE = 16;
+    private static final int WIDTH_IN_TILE = 512;
+    private static final int HEIGHT_IN_TILE = 64;
+    private static final int ENTITIES = 400;
+    private static final int STATE_PERIOD = 16;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    /**
+     * Main function.
+     * 
+     * @param args The arguments (none).
+     */
+    public static void main(String[] args) // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, AppLionheart.class);
+        try
+        {
+            Loader.start(Config.windowed(Constant.RESOLUTION_OUTPUT), Mock.class).await();
+        }
+        finally
+        {
+            Engine.terminate();
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private MirrorPolicyBenchmark()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * Benchmark sequence.
+     */
+    private static class Mock extends Sequence
+    {
+        private final Services services = new Services();
+        private final Factory factory = services.create(Factory.class);
+        private final EntityModel[] models = new EntityModel[ENTITIES];
+        private final StateHandler[] walls = new StateHandler[ENTITIES];
+
+        /**
+         * Create mock.
+         * 
+         * @param context The context reference.
+         */
+        Mock(Context context)
+        {
+            super(context, Util.getResolution(Constant.RESOLUTION, context));
+
+            services.create(Camera.class).setView(0, 0, getWidth(), getHeight(), getHeight());
+            services.add(context);
+            services.add(new CameraTracker(services));
+            services.add(new MapTileHelper(services)).create(TILE, TILE, WIDTH_IN_TILE, HEIGHT_IN_TILE);
+            services.add(new CheckpointHandler(services));
+            services.add(new SourceResolutionDelegate(this::getWidth, this::getHeight, this::getRate));
+            services.add((Spawner) (media, x, y) -> factory.create(media));
+            services.add(new MapTileWater(services));
+            services.add((LoadNextStage) (next, tickDelay, spawn) ->
+            {
+                // Mock
+            });
+            services.add(DeviceControllerConfig.create(services, Medias.create(Constant.INPUT_FILE_CUSTOM)));
+        }
+
+        /**
+         * Update entities.
+         * 
+         * @param iterations The iterations number.
+         * @return The update duration in nano.
+         */
+        private long run(int iterations)
+        {
+            long total = 0L;
+            for (int i = 0; i < iterations; i++)
+            {
+                if (i % STATE_PERIOD == 0)
+                {
+                    changeState(i / STATE_PERIOD % 2 == 0);
+                }
+                final long start = System.nanoTime();
+                for (int e = 0; e < ENTITIES; e++)
+                {
+                    models[e].update(1.0);
+                }
+                total += System.nanoTime() - start;
+            }
+            return total;
+        }
+
+        /**
+         * Change walls state.
+         * 
+         * @param idle <code>true</code> for idle state, <code>false</code> for fall state.
+         */
+        private void changeState(boolean idle)
+        {
+            for (int e = 0; e < ENTITIES; e++)
+            {
+                if (walls[e] != null)
+                {
+                    if (idle)
+                    {
+                        walls[e].changeState(StateIdle.class);
+                    }
+                    else
+                    {
+                        walls[e].changeState(StateFall.class);
+                    }
+                    walls[e].update(1.0);
+                }
+            }
+        }
+
+        @Override
+        public void load()
+        {
+            for (int e = 0; e < ENTITIES; e++)
+            {
+                final Featurable featurable = factory.create(MEDIAS[e % MEDIAS.length]);
+                featurable.getFeature(Transformable.class)
+                          .teleport(e * TILE % (WIDTH_IN_TILE * TILE), HEIGHT_IN_TILE * TILE / 2.0);
+                models[e] = featurable.getFeature(EntityModel.class);
+                if (e % MEDIAS.length == 0)
+                {
+                    walls[e] = featurable.getFeature(StateHandler.class);
+                }
+            }
+
+            run(WARMUP);
+            final long total = run(ITERATIONS);
+
+            Verbose.info(String.format(Locale.ENGLISH,
+                                       "EntityModel.update=%6.2fns/update",
+                                       Double.valueOf(total / ((double) ITERATIONS * ENTITIES))));
+        }
+
+        @Override
+        public void update(double extrp)
+        {
+            end();
+        }
+
+        @Override
+        public void render(Graphic g)
+        {
+            g.clear(0, 0, getWidth(), getHeight());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.collidable.CollidableListener;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.TileCollidable;
+import com.b3dgs.lionengine.game.feature.tile.map.collision.TileCollidableListener;
+
+/**
+ * Test {@link StateCollision}.
+ */
+public class StateCollisionTest
+{
+    /** State transitions count, each one entering then exiting two states. */
+    private static final int TRANSITIONS = 10_000;
+
+    /**
+     * Create feature counting its listeners.
+     * 
+     * @param <T> The feature type.
+     * @param type The feature type.
+     * @param listeners The listeners count.
+     * @return The feature.
+     */
+    private static <T> T counting(Class<T> type, AtomicInteger listeners)
+    {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]
+        {
+            type
+        }, (proxy, method, args) ->
+        {
+            if ("addListener".equals(method.getName()))
+            {
+                listeners.incrementAndGet();
+            }
+            else if ("removeListener".equals(method.getName()))
+            {
+                listeners.decrementAndGet();
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * Test listeners count stays constant after many state transitions, and only current state is notified.
+     */
+    @Test
+    void testTransitions()
+    {
+        final AtomicInteger collidableListeners = new AtomicInteger();
+        final AtomicInteger tileListeners = new AtomicInteger();
+        final Collidable collidable = counting(Collidable.class, collidableListeners);
+        final TileCollidable tileCollidable = counting(TileCollidable.class, tileListeners);
+
+        final AtomicInteger first = new AtomicInteger();
+        final AtomicInteger second = new AtomicInteger();
+        final CollidableListener firstCollided = (other, with, by) -> first.incrementAndGet();
+        final CollidableListener secondCollided = (other, with, by) -> second.incrementAndGet();
+        final TileCollidableListener firstTile = (result, category) -> first.incrementAndGet();
+        final TileCollidableListener secondTile = (result, category) -> second.incrementAndGet();
+
+        final StateCollision forward = new StateCollision();
+        for (int i = 0; i < TRANSITIONS; i++)
+        {
+            forward.enter(collidable, tileCollidable, firstCollided, firstTile);
+            forward.notifyCollided(null, null, null);
+            forward.exit(firstCollided);
+
+            forward.enter(collidable, tileCollidable, secondCollided, secondTile);
+            forward.notifyTileCollided(null, null);
+            forward.exit(secondCollided);
+
+            assertEquals(1, collidableListeners.get());
+            assertEquals(1, tileListeners.get());
+        }
+
+        forward.notifyCollided(null, null, null);
+        forward.notifyTileCollided(null, null);
+
+        assertEquals(TRANSITIONS, first.get());
+        assertEquals(TRANSITIONS, second.get());
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.audio.AudioFactory;
+import com.b3dgs.lionengine.audio.AudioVoidFormat;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.CameraTracker;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Spawner;
+import com.b3dgs.lionengine.game.feature.collidable.Collidable;
+import com.b3dgs.lionengine.game.feature.collidable.Collision;
+import com.b3dgs.lionengine.game.feature.state.StateHandler;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.engine.Loader;
+import com.b3dgs.lionengine.graphic.engine.Sequence;
+import com.b3dgs.lionengine.graphic.engine.SourceResolutionDelegate;
+import com.b3dgs.lionengine.helper.DeviceControllerConfig;
+import com.b3dgs.lionengine.helper.MapTileHelper;
+import com.b3dgs.lionheart.AppLionheart;
+import com.b3dgs.lionheart.CheckpointHandler;
+import com.b3dgs.lionheart.Constant;
+import com.b3dgs.lionheart.Util;
+import com.b3dgs.lionheart.constant.CollisionName;
+import com.b3dgs.lionheart.constant.Folder;
+import com.b3dgs.lionheart.object.feature.Glue;
+import com.b3dgs.lionheart.object.state.StateFall;
+import com.b3dgs.lionheart.object.state.StateIdle;
+
+/**
+ * Test {@link State} collisions through {@link StateHandler} transitions.
+ */
+public class StateTest
+{
+    /** State transitions count. */
+    private static final int TRANSITIONS = 1_000;
+    /** States notified by one collision, after transitions. */
+    private static final AtomicInteger NOTIFIED = new AtomicInteger(-1);
+
+    /**
+     * Create collidable counting its {@link Glue} reads.
+     * 
+     * @param glue The reads count.
+     * @return The collidable.
+     */
+    private static Collidable counting(AtomicInteger glue)
+    {
+        return (Collidable) Proxy.newProxyInstance(Collidable.class.getClassLoader(), new Class<?>[]
+        {
+            Collidable.class
+        }, (proxy, method, args) ->
+        {
+            if ("hasFeature".equals(method.getName()) && Glue.class.equals(args[0]))
+            {
+                glue.incrementAndGet();
+            }
+            return Boolean.FALSE;
+        });
+    }
+
+    /**
+     * Init engine.
+     */
+    @BeforeEach
+    void prepare()
+    {
+        EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, AppLionheart.class);
+        AudioFactory.addFormat(new AudioVoidFormat(Arrays.asList("wav", "sc68")));
+    }
+
+    /**
+     * Test an entity collision reaches only its current state after many state transitions, as each state reads
+     * {@link Glue} once from the collided entity.
+     */
+    @Test
+    void testTransitions()
+    {
+        Loader.start(Config.windowed(Constant.RESOLUTION_OUTPUT), Mock.class).await();
+
+        assertEquals(1, NOTIFIED.get());
+    }
+
+    /**
+     * Mock sequence.
+     */
+    private static class Mock extends Sequence
+    {
+        private final Services services = new Services();
+        private final Factory factory = services.create(Factory.class);
+
+        /**
+         * Create mock.
+         * 
+         * @param context The context reference.
+         */
+        Mock(Context context)
+        {
+            super(context, Util.getResolution(Constant.RESOLUTION, context));
+
+            services.create(Camera.class).setView(0, 0, getWidth(), getHeight(), getHeight());
+            services.add(context);
+            services.add(new CameraTracker(services));
+            services.add(new MapTileHelper(services));
+            services.add(new CheckpointHandler(services));
+            services.add(new SourceResolutionDelegate(this::getWidth, this::getHeight, this::getRate));
+            services.add((Spawner) (media, x, y) -> factory.create(media));
+            services.add(DeviceControllerConfig.create(services, Medias.create(Constant.INPUT_FILE_CUSTOM)));
+        }
+
+        @Override
+        public void load()
+        {
+            final Featurable featurable = factory.create(Medias.create(Folder.ENTITY, "ancienttown", "Wall.xml"));
+            final StateHandler states = featurable.getFeature(StateHandler.class);
+            for (int i = 0; i < TRANSITIONS; i++)
+            {
+                if (i % 2 == 0)
+                {
+                    states.changeState(StateFall.class);
+                }
+                else
+                {
+                    states.changeState(StateIdle.class);
+                }
+                states.update(1.0);
+            }
+
+            final AtomicInteger glue = new AtomicInteger();
+            final Collision body = new Collision(CollisionName.BODY, 0, 0, 1, 1, false);
+            featurable.getFeature(Collidable.class).notifyCollided(counting(glue), body, body);
+            NOTIFIED.set(glue.get());
+        }
+
+        @Override
+        public void update(double extrp)
+        {
+            end();
+        }
+
+        @Override
+        public void render(Graphic g)
+        {
+            g.clear(0, 0, getWidth(), getHeight());
+        }
+
+        @Override
+        public void onTerminated(boolean hasNextSequence)
+        {
+            Engine.terminate();
+        }
+    }
+}
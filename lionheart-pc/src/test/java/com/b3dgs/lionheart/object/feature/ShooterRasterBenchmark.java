@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart.object.feature;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.b3dgs.lionengine.Config;
+import com.b3dgs.lionengine.Context;
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+import com.b3dgs.lionengine.game.feature.Camera;
+import com.b3dgs.lionengine.game.feature.CameraTracker;
+import com.b3dgs.lionengine.game.feature.ComponentRefreshable;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.Featurable;
+import com.b3dgs.lionengine.game.feature.Handler;
+import com.b3dgs.lionengine.game.feature.Services;
+import com.b3dgs.lionengine.game.feature.Spawner;
+import com.b3dgs.lionengine.game.feature.Transformable;
+import com.b3dgs.lionengine.game.feature.launchable.Launcher;
+import com.b3dgs.lionengine.game.feature.rasterable.Rasterable;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.engine.Loader;
+import com.b3dgs.lionengine.graphic.engine.Sequence;
+import com.b3dgs.lionengine.graphic.engine.SourceResolutionDelegate;
+import com.b3dgs.lionengine.helper.DeviceControllerConfig;
+import com.b3dgs.lionengine.helper.MapTileHelper;
+import com.b3dgs.lionheart.AppLionheart;
+import com.b3dgs.lionheart.CheckpointHandler;
+import com.b3dgs.lionheart.Constant;
+import com.b3dgs.lionheart.EntityConfig;
+import com.b3dgs.lionheart.LoadNextStage;
+import com.b3dgs.lionheart.MapTileWater;
+import com.b3dgs.lionheart.Settings;
+import com.b3dgs.lionheart.StageConfig;
+import com.b3dgs.lionheart.StageHard;
+import com.b3dgs.lionheart.Util;
+import com.b3dgs.lionheart.constant.Folder;
+
+/**
+ * Measure time and allocation per shot of a stage full of {@link Shooter}, with rastered objects.
+ * <p>
+ * Shooters are the canons of a stage, with their shooter configuration, repeated along map and rastered by stage
+ * raster. Handler updates them and their projectiles, recycled by factory. Run it on revisions before and after a
+ * shooter change to compare them.
+ * </p>
+ */
+public final class ShooterRasterBenchmark
+{
+    private static final Media STAGE = StageHard.STAGE6;
+    private static final Media RASTER = Medias.create(Folder.RASTER, "ancienttown", "dusk", Constant.RASTER_FILE_TILE);
+    private static final int TILE = 16;
+    private static final int SHOOTERS = 200;
+    private static final int SPACE_IN_TILE = 4;
+    private static final int HEIGHT_IN_TILE = 32;
+    private static final int WARMUP = 2_000;
+    private static final int FRAMES = 20_000;
+
+    /**
+     * Main function.
+     * 
+     * @param args The arguments (none).
+     */
+    public static void main(String[] args) // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, AppLionheart.class);
+        try
+        {
+            final String settings = Settings.RASTER_OBJECT + "=true";
+            Settings.getInstance().load(new ByteArrayInputStream(settings.getBytes(StandardCharsets.UTF_8)));
+            Loader.start(Config.windowed(Constant.RESOLUTION_OUTPUT), Mock.class).await();
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+        finally
+        {
+            Engine.terminate();
+        }
+    }
+
+    /**
+     * Get bytes allocated by current thread.
+     * 
+     * @return The allocated bytes, <code>0</code> if not supported.
+     */
+    private static long getAllocatedBytes()
+    {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean)
+        {
+            final com.sun.management.ThreadMXBean thread = (com.sun.management.ThreadMXBean) bean;
+            return thread.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0L;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private ShooterRasterBenchmark()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+
+    /**
+     * Benchmark sequence.
+     */
+    private static class Mock extends Sequence
+    {
+        private final Services services = new Services();
+        private final Factory factory = services.create(Factory.class);
+        private final Handler handler = services.create(Handler.class);
+        private final Spawner spawner = services.add((Spawner) (media, x, y) ->
+        {
+            final Featurable featurable = factory.create(media);
+            featurable.getFeature(Transformable.class).teleport(x, y);
+            handler.add(featurable);
+            return featurable;
+        });
+        private final AtomicLong shots = new AtomicLong();
+
+        /**
+         * Create mock.
+         * 
+         * @param context The context reference.
+         */
+        Mock(Context context)
+        {
+            super(context, Util.getResolution(Constant.RESOLUTION, context));
+
+            services.create(Camera.class).setView(0, 0, getWidth(), getHeight(), getHeight());
+            services.add(context);
+            services.add(new CameraTracker(services));
+            services.add(new MapTileHelper(services))
+                    .create(TILE, TILE, SHOOTERS * SPACE_IN_TILE + SPACE_IN_TILE, HEIGHT_IN_TILE);
+            services.add(new CheckpointHandler(services));
+            services.add(new SourceResolutionDelegate(this::getWidth, this::getHeight, this::getRate));
+            services.add(new MapTileWater(services));
+            services.add((LoadNextStage) (next, tickDelay, spawn) ->
+            {
+                // Mock
+            });
+            services.add(DeviceControllerConfig.create(services, Medias.create(Constant.INPUT_FILE_CUSTOM)));
+
+            handler.addComponent(new ComponentRefreshable());
+            handler.addListener(factory);
+        }
+
+        /**
+         * Update stage frames.
+         * 
+         * @param frames The frames number.
+         */
+        private void run(int frames)
+        {
+            for (int i = 0; i < frames; i++)
+            {
+                handler.update(1.0);
+            }
+        }
+
+        @Override
+        public void load()
+        {
+            services.add(spawner.spawn(Medias.create(Folder.EXTRO, "part2", "Valdyn.xml"), 0, 0)
+                                .getFeature(SwordShade.class));
+
+            final List<EntityConfig> shooters = new ArrayList<>();
+            for (final EntityConfig entity : StageConfig.imports(STAGE).getEntities())
+            {
+                if (entity.getShooter().isPresent())
+                {
+                    shooters.add(entity);
+                }
+            }
+            for (int i = 0; i < SHOOTERS; i++)
+            {
+                final EntityConfig entity = shooters.get(i % shooters.size());
+                final Featurable featurable = spawner.spawn(entity.getMedia(), (i + 1) * SPACE_IN_TILE * TILE, TILE);
+                featurable.getFeature(Rasterable.class).setRaster(true, RASTER, TILE);
+                featurable.getFeature(Shooter.class).load(entity.getShooter().get());
+                featurable.getFeature(Launcher.class).addListener(l -> shots.incrementAndGet());
+            }
+
+            run(WARMUP);
+            shots.set(0L);
+            final long allocated = getAllocatedBytes();
+            final long start = System.nanoTime();
+            run(FRAMES);
+            final double time = System.nanoTime() - start;
+            final double bytes = getAllocatedBytes() - allocated;
+
+            Verbose.info(String.format(Locale.ENGLISH,
+                                       "%d shots %8.2fns/shot %8.1fB/shot",
+                                       Long.valueOf(shots.get()),
+                                       Double.valueOf(time / shots.get()),
+                                       Double.valueOf(bytes / shots.get())));
+        }
+
+        @Override
+        public void update(double extrp)
+        {
+            end();
+        }
+
+        @Override
+        public void render(Graphic g)
+        {
+            g.clear(0, 0, getWidth(), getHeight());
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionheart.constant.Extension;
+import com.b3dgs.lionheart.constant.Folder;
+
+/**
+ * Render sc68 musics to compressed PCM waves, run at build time when a renderer command is defined (see
+ * <code>music-cache</code> profile).
+ * <p>
+ * The renderer command is an external sc68 player able to write a 16 bits PCM wave, where <code>{input}</code> is
+ * replaced by the sc68 file and <code>{output}</code> by the wave file. Musics are only rendered again when their
+ * source changed. Rendered musics are stored for {@link MusicCache}.
+ * </p>
+ */
+public final class MusicRenderer
+{
+    private static final String INPUT = "{input}";
+    private static final String OUTPUT = "{output}";
+    private static final String RIFF = "RIFF";
+    private static final String WAVE = "WAVE";
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Main function.
+     * 
+     * @param args The musics folder, the output folder, the renderer command.
+     */
+    public static void main(String[] args) // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        if (args.length < 3)
+        {
+            throw new LionEngineException("Usage: MusicRenderer <musics folder> <output folder> <renderer command>");
+        }
+        final File[] musics = new File(args[0]).listFiles((dir, name) -> name.endsWith(Extension.MUSIC));
+        if (musics == null)
+        {
+            throw new LionEngineException("Musics folder not found: " + args[0]);
+        }
+        final File output = new File(new File(args[1], Folder.MUSIC), MusicCache.FOLDER);
+        if (!output.isDirectory() && !output.mkdirs())
+        {
+            throw new LionEngineException("Unable to create folder: " + output);
+        }
+        final String[] command = args[2].trim().split("\\s+");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try
+        {
+            final List<Future<?>> tasks = new ArrayList<>();
+            for (final File music : musics)
+            {
+                final String name = music.getName().replace(Extension.MUSIC, Extension.MUSIC_RENDERED);
+                final File target = new File(output, name);
+                if (target.lastModified() < music.lastModified())
+                {
+                    tasks.add(executor.submit(() -> render(command, music, target)));
+                }
+            }
+            for (final Future<?> task : tasks)
+            {
+                task.get();
+            }
+            Verbose.info("Musics rendered: ", String.valueOf(tasks.size()), "/", String.valueOf(musics.length));
+        }
+        catch (final ExecutionException exception)
+        {
+            throw new LionEngineException(exception.getCause());
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new LionEngineException(exception);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Render music to compressed wave.
+     * 
+     * @param command The renderer command.
+     * @param music The music file.
+     * @param target The compressed wave file.
+     * @throws LionEngineException If unable to render music.
+     */
+    private static void render(String[] command, File music, File target)
+    {
+        File wave = null;
+        try
+        {
+            wave = File.createTempFile(MusicRenderer.class.getSimpleName(), Extension.SFX);
+            final List<String> arguments = new ArrayList<>(command.length);
+            for (final String argument : command)
+            {
+                arguments.add(argument.replace(INPUT, music.getAbsolutePath())
+                                      .replace(OUTPUT, wave.getAbsolutePath()));
+            }
+            final Process process = new ProcessBuilder(arguments).inheritIO().start();
+            final int code = process.waitFor();
+            if (code != 0)
+            {
+                throw new LionEngineException("Renderer failed on " + music + " with code " + code);
+            }
+            check(wave);
+            compress(wave, target);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new LionEngineException(exception);
+        }
+        finally
+        {
+            if (wave != null && wave.exists() && !wave.delete())
+            {
+                Verbose.warning("Unable to delete: ", wave.getPath());
+            }
+        }
+    }
+
+    /**
+     * Check rendered file is a wave.
+     * 
+     * @param wave The rendered file.
+     * @throws IOException If not a wave.
+     */
+    private static void check(File wave) throws IOException
+    {
+        final byte[] header = new byte[12];
+        try (DataInputStream input = new DataInputStream(new FileInputStream(wave)))
+        {
+            input.readFully(header);
+        }
+        if (!RIFF.equals(new String(header, 0, 4, StandardCharsets.US_ASCII))
+            || !WAVE.equals(new String(header, 8, 4, StandardCharsets.US_ASCII)))
+        {
+            throw new IOException("Renderer output is not a wave: " + wave);
+        }
+    }
+
+    /**
+     * Compress wave to target.
+     * 
+     * @param wave The wave file.
+     * @param target The compressed file.
+     * @throws IOException If error on compression.
+     */
+    private static void compress(File wave, File target) throws IOException
+    {
+        try (InputStream input = new FileInputStream(wave);
+             OutputStream output = new GZIPOutputStream(new FileOutputStream(target), BUFFER_SIZE))
+        {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) > 0)
+            {
+                output.write(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private MusicRenderer()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}
@@ -0,0 +1,723 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.b3dgs.lionengine.Engine;
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Media;
+import com.b3dgs.lionengine.Medias;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionengine.Xml;
+import com.b3dgs.lionengine.awt.graphic.EngineAwt;
+import com.b3dgs.lionengine.game.Configurer;
+import com.b3dgs.lionengine.game.FramesConfig;
+import com.b3dgs.lionengine.game.feature.Factory;
+import com.b3dgs.lionengine.game.feature.FeaturableConfig;
+import com.b3dgs.lionengine.game.feature.rasterable.SetupSurfaceRastered;
+import com.b3dgs.lionengine.graphic.Graphic;
+import com.b3dgs.lionengine.graphic.Graphics;
+import com.b3dgs.lionengine.graphic.ImageBuffer;
+import com.b3dgs.lionengine.graphic.drawable.ImageInfo;
+import com.b3dgs.lionheart.constant.Folder;
+import com.b3dgs.lionheart.landscape.BackgroundType;
+import com.b3dgs.lionheart.object.feature.Underwater;
+
+/**
+ * Generate world, objects and hero rasters from game resources, run at build time.
+ * <p>
+ * Each generated folder is associated to a hash of its sources, and only regenerated when sources changed. Worlds and
+ * objects are generated in parallel. Tiles water rasters are packed in a {@link RasterAtlas} per world theme.
+ * </p>
+ */
+public final class RasterGenerator
+{
+    private static final String BLANK = com.b3dgs.lionengine.Constant.EMPTY_STRING;
+    private static final String UNDERSCORE = com.b3dgs.lionengine.Constant.UNDERSCORE;
+    private static final String PNG = ".png";
+    private static final String XML = Factory.FILE_DATA_DOT_EXTENSION;
+    private static final String FILE_SHEETS = "0.png";
+    private static final String FILE_RASTER_INSIDE = "tiles_inside.png";
+    private static final String FILE_HASH = "hash.properties";
+    private static final String FOLDER_TILE = Constant.RASTER_FILE_TILE.replace(PNG, BLANK);
+    private static final String FOLDER_WATER = Constant.RASTER_FILE_WATER.replace(PNG, BLANK);
+    private static final String HERO = "valdyn";
+    private static final String HERO_NAME = "Valdyn";
+    private static final int TILE_HEIGHT = 16;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int ATLAS_WIDTH = 2048;
+    /** Generator version, change it to invalidate all generated folders. */
+    private static final String VERSION = "1";
+    private static final String DIGEST = "SHA-256";
+
+    /**
+     * Main function.
+     * 
+     * @param args The game resources folder, the rasters output folder.
+     */
+    public static void main(String[] args) // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        if (args.length < 2)
+        {
+            throw new LionEngineException("Usage: RasterGenerator <resources folder> <output folder>");
+        }
+        EngineAwt.start(Constant.PROGRAM_NAME, Constant.PROGRAM_VERSION, args[0]);
+        try
+        {
+            new RasterGenerator(new File(args[1])).generate();
+        }
+        finally
+        {
+            Engine.terminate();
+        }
+    }
+
+    /**
+     * Get the raster folder of object.
+     * 
+     * @param prefix The folder prefix.
+     * @param object The object media.
+     * @return The object folder name.
+     */
+    private static String getFolder(String prefix, Media object)
+    {
+        return prefix + UNDERSCORE + object.getName().replace(XML, BLANK);
+    }
+
+    /**
+     * Get the objects of world.
+     * 
+     * @param type The landscape type.
+     * @return The world objects.
+     */
+    private static List<Media> getObjects(BackgroundType type)
+    {
+        final String world = type.getWorld().getFolder();
+        final List<Media> medias = new ArrayList<>();
+        medias.addAll(Medias.create(Folder.ENTITY, world).getMedias());
+        medias.addAll(Medias.create(Folder.PROJECTILE, world).getMedias());
+        medias.addAll(Medias.create(Folder.EFFECT, world).getMedias());
+
+        return medias.stream().filter(media -> media.getName().endsWith(XML)).collect(Collectors.toList());
+    }
+
+    /**
+     * Check if object is underwater.
+     * 
+     * @param object The object media.
+     * @return <code>true</code> if has underwater feature, <code>false</code> else.
+     */
+    private static boolean isUnderwater(Media object)
+    {
+        return new Xml(object).getChild(FeaturableConfig.NODE_FEATURES)
+                              .getChildren(FeaturableConfig.NODE_FEATURE)
+                              .stream()
+                              .map(Xml::getText)
+                              .collect(Collectors.toList())
+                              .contains(Underwater.class.getName());
+    }
+
+    /**
+     * Get tile height from object frames.
+     * 
+     * @param object The object media.
+     * @param image The object image.
+     * @return The tile height.
+     */
+    private static int getTileHeight(Media object, Media image)
+    {
+        return ImageInfo.get(image).getHeight() / FramesConfig.imports(new Configurer(object)).getVertical();
+    }
+
+    /**
+     * Compute sources hash.
+     * 
+     * @param sources The sources media.
+     * @return The sources hash.
+     * @throws LionEngineException If unable to read a source.
+     */
+    private static String hash(Media... sources)
+    {
+        try
+        {
+            final MessageDigest digest = MessageDigest.getInstance(DIGEST);
+            digest.update(VERSION.getBytes(StandardCharsets.UTF_8));
+
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            for (final Media source : sources)
+            {
+                digest.update(source.getPath().getBytes(StandardCharsets.UTF_8));
+                if (source.exists())
+                {
+                    try (InputStream input = source.getInputStream())
+                    {
+                        int read;
+                        while ((read = input.read(buffer)) > 0)
+                        {
+                            digest.update(buffer, 0, read);
+                        }
+                    }
+                }
+            }
+
+            final StringBuilder hash = new StringBuilder();
+            for (final byte value : digest.digest())
+            {
+                hash.append(String.format("%02x", Byte.valueOf(value)));
+            }
+            return hash.toString();
+        }
+        catch (final NoSuchAlgorithmException | IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
+    /** Output folder. */
+    private final File output;
+    /** Hash file. */
+    private final File hashFile;
+    /** Sources hash by generated folder. */
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+    /** Generated folders count. */
+    private final AtomicInteger generated = new AtomicInteger();
+    /** Up to date folders count. */
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    /**
+     * Create generator.
+     * 
+     * @param output The rasters output folder.
+     * @throws LionEngineException If unable to read hash file.
+     */
+    RasterGenerator(File output)
+    {
+        super();
+
+        this.output = output;
+        hashFile = new File(new File(output, Folder.RASTER), FILE_HASH);
+
+        if (hashFile.isFile())
+        {
+            final Properties properties = new Properties();
+            try (InputStream input = new FileInputStream(hashFile))
+            {
+                properties.load(input);
+            }
+            catch (final IOException exception)
+            {
+                throw new LionEngineException(exception);
+            }
+            properties.stringPropertyNames().forEach(key -> hashes.put(key, properties.getProperty(key)));
+        }
+    }
+
+    /**
+     * Generate all rasters, in parallel per world and per object.
+     * 
+     * @throws LionEngineException If generation failed.
+     */
+    void generate()
+    {
+        final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        final List<Future<?>> tasks = new ArrayList<>();
+
+        tasks.add(executor.submit(() -> generateHeroRaster(Constant.RASTER_FILE_WATER)));
+        tasks.add(executor.submit(() -> generateHeroRaster(Constant.RASTER_FILE_LAVA)));
+
+        for (final BackgroundType type : BackgroundType.values())
+        {
+            if (type.getWorld() != null && type.getTheme() != null)
+            {
+                tasks.add(executor.submit(() -> generateWorldRaster(type)));
+                for (final Media object : getObjects(type))
+                {
+                    tasks.add(executor.submit(() -> generateObjectRaster(type, object)));
+                }
+            }
+        }
+        executor.shutdown();
+
+        try
+        {
+            for (final Future<?> task : tasks)
+            {
+                task.get();
+            }
+        }
+        catch (final InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new LionEngineException(exception);
+        }
+        catch (final ExecutionException exception)
+        {
+            throw new LionEngineException(exception.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+            saveHashes();
+        }
+
+        Verbose.info("Rasters generated: ",
+                     String.valueOf(generated.get()),
+                     " up to date: ",
+                     String.valueOf(skipped.get()));
+    }
+
+    /**
+     * Generate world tiles and water rasters.
+     * 
+     * @param type The landscape type.
+     */
+    private void generateWorldRaster(BackgroundType type)
+    {
+        final String world = type.getWorld().getFolder();
+        final String theme = type.getTheme();
+        final Media sheet = Medias.create(Folder.LEVEL, world, FILE_SHEETS);
+        final Media tiles = Medias.create(Folder.RASTER, world, theme, Constant.RASTER_FILE_TILE);
+        final Media water = Medias.create(Folder.RASTER, world, theme, Constant.RASTER_FILE_WATER);
+        final String folderTile = Medias.create(tiles.getParentPath(), FOLDER_TILE + UNDERSCORE + 0).getPath();
+
+        if (BackgroundType.LAVA.equals(type))
+        {
+            final Media inside = Medias.create(Folder.RASTER, world, theme, FILE_RASTER_INSIDE);
+            generate(folderTile, () ->
+            {
+                final ImageBuffer image = Graphics.getImageBuffer(sheet);
+                final ImageBuffer[] buffers = Graphics.getRasterBufferInside(image,
+                                                                             Graphics.getImageBuffer(inside),
+                                                                             TILE_HEIGHT);
+                save(folderTile, buffers, image);
+            }, sheet, inside);
+        }
+        else if (tiles.exists())
+        {
+            generate(folderTile,
+                     () -> save(folderTile,
+                                Graphics.getRasterBuffer(Graphics.getImageBuffer(sheet),
+                                                         Graphics.getImageBuffer(tiles)),
+                                null),
+                     sheet,
+                     tiles);
+        }
+
+        if (water.exists())
+        {
+            final String folderWater = Medias.create(water.getParentPath(), FOLDER_WATER).getPath();
+            generate(folderWater, () ->
+            {
+                final ImageBuffer base;
+                if (BackgroundType.LAVA.equals(type))
+                {
+                    base = Graphics.getRasterBuffer(Graphics.getImageBuffer(sheet),
+                                                    Graphics.getImageBuffer(tiles))[0];
+                }
+                else if (tiles.exists())
+                {
+                    base = Graphics.getImageBuffer(getOutput(folderTile, FILE_SHEETS));
+                }
+                else
+                {
+                    base = Graphics.getImageBuffer(sheet);
+                }
+                save(folderWater,
+                     Graphics.getRasterBufferSmooth(base, Graphics.getImageBuffer(water), TILE_HEIGHT),
+                     null);
+            }, sheet, tiles, water);
+
+            final String theme = water.getParentPath();
+            generate(Medias.create(theme, RasterAtlas.FILE_INDEX).getPath(),
+                     () -> generateAtlas(theme, FOLDER_WATER),
+                     sheet,
+                     tiles,
+                     water);
+        }
+    }
+
+    /**
+     * Generate object tiles and water rasters.
+     * 
+     * @param type The landscape type.
+     * @param object The object media.
+     */
+    private void generateObjectRaster(BackgroundType type, Media object)
+    {
+        final String world = type.getWorld().getFolder();
+        final String theme = type.getTheme();
+        final Media tiles = Medias.create(Folder.RASTER, world, theme, Constant.RASTER_FILE_TILE);
+        final Media water = Medias.create(Folder.RASTER, world, theme, Constant.RASTER_FILE_WATER);
+        final String folderTile = Medias.create(tiles.getParentPath(), getFolder(FOLDER_TILE, object)).getPath();
+        final SetupSurfaceRastered setup = new SetupSurfaceRastered(object);
+        final Media image = setup.getSurfaceFile();
+
+        if (setup.isExtern())
+        {
+            if (BackgroundType.LAVA.equals(type))
+            {
+                final Media inside = Medias.create(Folder.RASTER, world, theme, FILE_RASTER_INSIDE);
+                generate(folderTile, () ->
+                {
+                    final ImageBuffer buffer = Graphics.getImageBuffer(image);
+                    save(folderTile,
+                         Graphics.getRasterBufferInside(buffer,
+                                                        Graphics.getImageBuffer(inside),
+                                                        getTileHeight(object, image)),
+                         buffer);
+                }, object, image, inside);
+            }
+            else if (tiles.exists())
+            {
+                generate(folderTile, () ->
+                {
+                    final ImageBuffer buffer = Graphics.getImageBuffer(image);
+                    save(folderTile, Graphics.getRasterBuffer(buffer, Graphics.getImageBuffer(tiles)), buffer);
+                }, object, image, tiles);
+            }
+        }
+
+        if (water.exists() && isUnderwater(object))
+        {
+            final String folderWater = Medias.create(water.getParentPath(), getFolder(FOLDER_WATER, object)).getPath();
+            generate(folderWater, () ->
+            {
+                Media base = getOutput(folderTile, FILE_SHEETS);
+                if (!base.exists())
+                {
+                    base = image;
+                }
+                save(folderWater,
+                     Graphics.getRasterBufferSmooth(Graphics.getImageBuffer(base),
+                                                    Graphics.getImageBuffer(water),
+                                                    getTileHeight(object, base)),
+                     null);
+            }, object, image, tiles, water);
+        }
+    }
+
+    /**
+     * Generate hero water raster.
+     * 
+     * @param file The raster file name.
+     */
+    private void generateHeroRaster(String file)
+    {
+        final Media raster = Medias.create(Folder.RASTER, Folder.HERO, HERO, file);
+        final Media object = Medias.create(raster.getParentPath(), HERO_NAME + XML);
+        final Media image = Medias.create(raster.getParentPath(), HERO_NAME + PNG);
+        final String folder = Medias.create(raster.getParentPath(), file.replace(PNG, BLANK) + UNDERSCORE + HERO_NAME)
+                                    .getPath();
+
+        generate(folder,
+                 () -> save(folder,
+                            Graphics.getRasterBufferSmooth(Graphics.getImageBuffer(image),
+                                                           Graphics.getImageBuffer(raster),
+                                                           getTileHeight(object, image)),
+                            null),
+                 object,
+                 image,
+                 raster);
+    }
+
+    /**
+     * Pack generated rasters of theme in a single atlas with its index.
+     * 
+     * @param folder The theme folder path.
+     * @param names The generated rasters folder name.
+     * @throws LionEngineException If unable to write atlas.
+     */
+    private void generateAtlas(String folder, String... names)
+    {
+        final List<RasterAtlas.Entry> entries = new ArrayList<>();
+        final List<ImageBuffer[]> rasters = new ArrayList<>();
+        int width = 0;
+        int height = 0;
+
+        for (final String name : names)
+        {
+            final List<ImageBuffer> frames = new ArrayList<>();
+            Media frame = getOutput(Medias.create(folder, name).getPath(), FILE_SHEETS);
+            while (frame.exists())
+            {
+                frames.add(Graphics.getImageBuffer(frame));
+                frame = getOutput(Medias.create(folder, name).getPath(), frames.size() + PNG);
+            }
+            if (!frames.isEmpty())
+            {
+                final int w = frames.get(0).getWidth();
+                final int h = frames.get(0).getHeight();
+                final int columns = Math.max(1, Math.min(frames.size(), ATLAS_WIDTH / w));
+                final RasterAtlas.Entry entry = new RasterAtlas.Entry(name, frames.size(), w, h, columns, height);
+
+                entries.add(entry);
+                rasters.add(frames.toArray(new ImageBuffer[frames.size()]));
+                width = Math.max(width, entry.getRowsWidth());
+                height += entry.getRowsHeight();
+            }
+        }
+        if (entries.isEmpty())
+        {
+            return;
+        }
+
+        final ImageBuffer atlas = Graphics.createImageBuffer(width, height);
+        atlas.prepare();
+
+        final Graphic g = atlas.createGraphic();
+        for (int i = 0; i < entries.size(); i++)
+        {
+            final RasterAtlas.Entry entry = entries.get(i);
+            final ImageBuffer[] frames = rasters.get(i);
+            for (int f = 0; f < frames.length; f++)
+            {
+                g.drawImage(frames[f], entry.getX(f), entry.getY(f));
+            }
+        }
+        g.dispose();
+        Graphics.saveImage(atlas, getOutput(folder, RasterAtlas.FILE_IMAGE));
+
+        try (OutputStream stream = getOutput(folder, RasterAtlas.FILE_INDEX).getOutputStream())
+        {
+            RasterAtlas.write(stream, entries);
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
+    /**
+     * Generate output if missing or if its sources changed since last generation.
+     * 
+     * @param folder The generated output path.
+     * @param generator The output generator.
+     * @param sources The generation sources.
+     */
+    private void generate(String folder, Runnable generator, Media... sources)
+    {
+        final String hash = hash(sources);
+        final File target = new File(output, folder);
+
+        if (target.exists() && hash.equals(hashes.get(folder)))
+        {
+            skipped.incrementAndGet();
+        }
+        else
+        {
+            hashes.remove(folder);
+            final File[] files = target.listFiles();
+            if (files != null)
+            {
+                Arrays.stream(files).filter(File::isFile).forEach(File::delete);
+            }
+            generator.run();
+            hashes.put(folder, hash);
+            generated.incrementAndGet();
+            Verbose.info("Raster generated: ", folder);
+        }
+    }
+
+    /**
+     * Save raster buffers as indexed images.
+     * 
+     * @param folder The generated folder path.
+     * @param buffers The raster buffers.
+     * @param original The original image saved after rasters (<code>null</code> if none).
+     */
+    private void save(String folder, ImageBuffer[] buffers, ImageBuffer original)
+    {
+        int i = 0;
+        for (final ImageBuffer buffer : buffers)
+        {
+            Graphics.saveImage(buffer, getOutput(folder, i + PNG));
+            i++;
+        }
+        if (original != null)
+        {
+            Graphics.saveImage(original, getOutput(folder, i + PNG));
+        }
+    }
+
+    /**
+     * Get output media.
+     * 
+     * @param folder The generated folder path.
+     * @param file The file name.
+     * @return The output media.
+     */
+    private Media getOutput(String folder, String file)
+    {
+        return new FileMedia(new File(new File(output, folder), file));
+    }
+
+    /**
+     * Save sources hash by generated folder.
+     * 
+     * @throws LionEngineException If unable to save hash file.
+     */
+    private void saveHashes()
+    {
+        final Properties properties = new Properties();
+        properties.putAll(hashes);
+
+        if (!hashFile.getParentFile().isDirectory() && !hashFile.getParentFile().mkdirs())
+        {
+            throw new LionEngineException("Unable to create folder: " + hashFile.getParent());
+        }
+        try (OutputStream stream = new FileOutputStream(hashFile))
+        {
+            properties.store(stream, RasterGenerator.class.getSimpleName());
+        }
+        catch (final IOException exception)
+        {
+            throw new LionEngineException(exception);
+        }
+    }
+
+    /**
+     * Media on output file, outside of resources directory.
+     */
+    private static final class FileMedia implements Media
+    {
+        /** Media file. */
+        private final File file;
+
+        /**
+         * Create file media.
+         * 
+         * @param file The media file.
+         */
+        FileMedia(File file)
+        {
+            super();
+
+            this.file = file;
+        }
+
+        @Override
+        public String getPath()
+        {
+            return file.getPath();
+        }
+
+        @Override
+        public String getParentPath()
+        {
+            return file.getParent();
+        }
+
+        @Override
+        public File getFile()
+        {
+            return file;
+        }
+
+        @Override
+        public URL getUrl()
+        {
+            try
+            {
+                return file.toURI().toURL();
+            }
+            catch (final MalformedURLException exception)
+            {
+                throw new LionEngineException(exception);
+            }
+        }
+
+        @Override
+        public Collection<Media> getMedias()
+        {
+            final File[] files = file.listFiles();
+            if (files == null)
+            {
+                return Collections.emptyList();
+            }
+            return Arrays.stream(files).map(FileMedia::new).collect(Collectors.toList());
+        }
+
+        @Override
+        public InputStream getInputStream()
+        {
+            try
+            {
+                return new FileInputStream(file);
+            }
+            catch (final FileNotFoundException exception)
+            {
+                throw new LionEngineException(exception);
+            }
+        }
+
+        @Override
+        public OutputStream getOutputStream()
+        {
+            final File parent = file.getParentFile();
+            if (!parent.isDirectory() && !parent.mkdirs())
+            {
+                throw new LionEngineException("Unable to create folder: " + parent);
+            }
+            try
+            {
+                return new FileOutputStream(file);
+            }
+            catch (final FileNotFoundException exception)
+            {
+                throw new LionEngineException(exception);
+            }
+        }
+
+        @Override
+        public boolean exists()
+        {
+            return file.exists();
+        }
+
+        @Override
+        public String getName()
+        {
+            return file.getName();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2013-2021 Byron 3D Games Studio (www.b3dgs.com) Pierre-Alexandre (contact@b3dgs.com)
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.b3dgs.lionheart;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.b3dgs.lionengine.LionEngineException;
+import com.b3dgs.lionengine.Verbose;
+import com.b3dgs.lionheart.constant.Extension;
+
+/**
+ * Compile stages XML to binary stages, run at build time.
+ */
+public final class StageCompiler
+{
+    /**
+     * Main function.
+     * 
+     * @param args The stages source folder, the compiled stages output folder.
+     */
+    public static void main(String[] args) // CHECKSTYLE IGNORE LINE: TrailingComment|UncommentedMain
+    {
+        if (args.length < 2)
+        {
+            throw new LionEngineException("Usage: StageCompiler <stages folder> <output folder>");
+        }
+        compile(new File(args[0]), new File(args[1]));
+    }
+
+    /**
+     * Compile all stages from folder.
+     * 
+     * @param stages The stages source folder.
+     * @param output The compiled stages output folder.
+     * @throws LionEngineException If unable to compile a stage.
+     */
+    static void compile(File stages, File output)
+    {
+        final File[] files = stages.listFiles((dir, name) -> name.endsWith(Extension.STAGE));
+        if (files == null)
+        {
+            throw new LionEngineException("Stages folder not found: " + stages);
+        }
+        if (!output.isDirectory() && !output.mkdirs())
+        {
+            throw new LionEngineException("Unable to create folder: " + output);
+        }
+
+        for (final File file : files)
+        {
+            final File compiled = new File(output, file.getName().replace(Extension.STAGE, Extension.STAGE_BINARY));
+            if (compiled.lastModified() < file.lastModified())
+            {
+                try (InputStream input = new FileInputStream(file);
+                     OutputStream stream = new FileOutputStream(compiled))
+                {
+                    StageBinary.compile(input, stream);
+                }
+                catch (final IOException exception)
+                {
+                    throw new LionEngineException(exception);
+                }
+                Verbose.info("Compiled stage: ", compiled.getPath());
+            }
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private StageCompiler()
+    {
+        throw new LionEngineException(LionEngineException.ERROR_PRIVATE_CONSTRUCTOR);
+    }
+}